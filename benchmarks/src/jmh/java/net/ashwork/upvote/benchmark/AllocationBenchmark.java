@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.manager.DatabaseVoteManager;
+import net.ashwork.upvote.database.util.RecyclingTransformer;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bytes allocated per cast vote, reported by the gc profiler as
+ * {@code gc.alloc.rate.norm}. A recycled row should allocate nothing once
+ * warmed up, while a fresh row allocates one object per vote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AllocationBenchmark {
+
+    private static final int VOTES = 1 << 16;
+
+    private List<PrimitiveVoteEntry> votes;
+    private DatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, VoteRow, CountingDao, Object> fresh;
+    private DatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, VoteRow, CountingDao, Object> recycled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.votes = BenchmarkData.votes(VOTES, 1000);
+        final TallyAlgorithm<VoteRow, Object> algorithm = List::size;
+        this.fresh = new DatabaseVoteManager<>(new CountingDao(), VoteRow::of, algorithm, id -> Boolean.TRUE, t -> Boolean.FALSE);
+        this.recycled = new DatabaseVoteManager<>(new CountingDao(), new RecyclingTransformer<>(VoteRow::new, (entry, row) -> row.set(entry)), algorithm, id -> Boolean.TRUE, t -> Boolean.FALSE);
+    }
+
+    @Benchmark
+    public Object castFreshRow(final Cursor cursor) {
+        return this.fresh.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    public Object castRecycledRow(final Cursor cursor) {
+        return this.recycled.castVote(cursor.next(this.votes));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A utility class to generate deterministic vote data for the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 0x5EED5EEDL;
+
+    /**
+     * Generates votes from a fixed seed. Votes are spread uniformly over the
+     * items, with ten times as many users as items.
+     *
+     * @param count the number of votes to generate
+     * @param items the number of distinct items voted on
+     * @return a list of generated votes
+     */
+    public static List<PrimitiveVoteEntry> votes(final int count, final int items) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final long users = 10L * items;
+        final List<PrimitiveVoteEntry> votes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            votes.add(PrimitiveVoteEntry.of(random.nextLong(users), random.nextInt(items), random.nextBoolean() ? 1 : -1, i));
+        }
+        return votes;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.columnar.ColumnarVoteStore;
+import net.ashwork.upvote.domain.PrimitiveReputationEntry;
+import net.ashwork.upvote.domain.algorithm.ReputationWeightedTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of tallying votes held within a
+ * {@link ColumnarVoteStore}, to compare against the object-backed table in
+ * {@link TallyBenchmark}. The weighted tally joins each vote against the
+ * reputation of its user, to compare against the unweighted tally.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnarBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    @Param({"100", "100000"})
+    public int items;
+
+    private ColumnarVoteStore store;
+    private ItemScoreAlgorithm algorithm;
+    private List<PrimitiveReputationEntry> reputations;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.store = new ColumnarVoteStore();
+        this.store.insertAll(BenchmarkData.votes(this.entries, this.items));
+        this.algorithm = new ItemScoreAlgorithm();
+        this.reputations = new ArrayList<>();
+        for (long user = 0; user < 10L * this.items; user++) {
+            this.reputations.add(PrimitiveReputationEntry.of(user, 1.0 + (user % 7), 0L));
+        }
+    }
+
+    @Benchmark
+    public Object fullTally() {
+        final LongLongHashMap scores = this.algorithm.createState();
+        this.store.accumulate(this.algorithm, scores);
+        return this.algorithm.result(scores);
+    }
+
+    @Benchmark
+    public Object weightedTally() {
+        final ReputationWeightedTallyAlgorithm<Object> weighted = ReputationWeightedTallyAlgorithm.join(this.reputations.iterator(), 1.0, state -> state);
+        final ReputationWeightedTallyAlgorithm.State scores = weighted.createState();
+        this.store.accumulate(weighted, scores);
+        return weighted.result(scores);
+    }
+
+    @Benchmark
+    public Object itemScores() {
+        final LongLongHashMap scores = new LongLongHashMap();
+        this.store.score(scores);
+        return scores;
+    }
+
+    @Benchmark
+    public long itemTally() {
+        return this.store.score(0L);
+    }
+
+    @Benchmark
+    public long sum() {
+        return this.store.sum();
+    }
+}
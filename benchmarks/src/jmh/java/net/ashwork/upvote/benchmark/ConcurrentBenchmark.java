@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.manager.IncrementalDatabaseVoteManager;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.manager.memory.PrimitiveInMemoryVoteManager;
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput of votes being cast by several threads while
+ * another thread tallies them. The number of groups running at once is set
+ * by the thread count of the run.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentBenchmark {
+
+    private static final int VOTES = 1 << 16;
+
+    @Param({"1000", "100000"})
+    public int items;
+
+    private List<PrimitiveVoteEntry> votes;
+    private IncrementalDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, LongLongHashMap, Object> incremental;
+    private PrimitiveInMemoryVoteManager<Object> primitive;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        this.votes = BenchmarkData.votes(VOTES, this.items);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final MemoryVoteDao dao = new MemoryVoteDao(false);
+        this.incremental = new IncrementalDatabaseVoteManager<>(dao, dao, Function.identity(), new ItemScoreAlgorithm(), Integer::valueOf, t -> t);
+        this.incremental.tally();
+        this.primitive = new PrimitiveInMemoryVoteManager<>(Runtime.getRuntime().availableProcessors(), () -> Boolean.TRUE, scores -> scores);
+    }
+
+    @Benchmark
+    @Group("incremental")
+    @GroupThreads(3)
+    public Object castIncremental(final Cursor cursor) {
+        return this.incremental.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    @Group("incremental")
+    @GroupThreads(1)
+    public Object tallyIncremental() {
+        return this.incremental.tally();
+    }
+
+    @Benchmark
+    @Group("primitive")
+    @GroupThreads(3)
+    public Object castPrimitive(final Cursor cursor) {
+        return this.primitive.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    @Group("primitive")
+    @GroupThreads(1)
+    public Object tallyPrimitive() {
+        return this.primitive.tally();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in table of vote rows which reads each inserted row and only
+ * counts it, so that the allocations of an insert come from the manager.
+ */
+public final class CountingDao implements InsertDao<VoteRow>, GetDao<VoteRow> {
+
+    private final AtomicInteger inserted;
+    private volatile long checksum;
+
+    /**
+     * A simple constructor.
+     */
+    public CountingDao() {
+        this.inserted = new AtomicInteger();
+    }
+
+    @Override
+    public int insert(final VoteRow dbo) {
+        this.checksum = dbo.checksum();
+        return this.inserted.incrementAndGet();
+    }
+
+    @Override
+    public void insertAll(final List<VoteRow> dbos) {
+        for (final VoteRow dbo : dbos) {
+            this.insert(dbo);
+        }
+    }
+
+    @Override
+    public List<VoteRow> getAll() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Gets a checksum of the last inserted row.
+     *
+     * @return the checksum of the last inserted row
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+}
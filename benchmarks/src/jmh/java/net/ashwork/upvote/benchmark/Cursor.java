@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * A per-thread position within the generated votes, wrapping around once
+ * every vote has been used.
+ */
+@State(Scope.Thread)
+public class Cursor {
+
+    private int next;
+
+    /**
+     * Gets the next vote to cast.
+     *
+     * @param votes the generated votes
+     * @return the next vote
+     */
+    public PrimitiveVoteEntry next(final List<PrimitiveVoteEntry> votes) {
+        final PrimitiveVoteEntry vote = votes.get(this.next);
+        this.next = this.next + 1 == votes.size() ? 0 : this.next + 1;
+        return vote;
+    }
+
+    /**
+     * Gets the next batch of votes to insert.
+     *
+     * @param votes the generated votes
+     * @param size the number of votes within the batch
+     * @return a view of the next batch of votes
+     */
+    public List<PrimitiveVoteEntry> nextBatch(final List<PrimitiveVoteEntry> votes, final int size) {
+        if (this.next + size > votes.size()) {
+            this.next = 0;
+        }
+        final List<PrimitiveVoteEntry> batch = votes.subList(this.next, this.next + size);
+        this.next += size;
+        return batch;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.manager.DatabaseVoteManager;
+import net.ashwork.upvote.database.manager.IncrementalDatabaseVoteManager;
+import net.ashwork.upvote.database.util.WriteBehindBuffer;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput of casting votes through the database managers,
+ * both one at a time and in batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IngestionBenchmark {
+
+    private static final int VOTES = 1 << 16;
+
+    @Param({"1000", "100000"})
+    public int items;
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private List<PrimitiveVoteEntry> votes;
+    private MemoryVoteDao dao;
+    private DatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, Object> manager;
+    private IncrementalDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, LongLongHashMap, Object> incremental;
+    private WriteBehindBuffer<PrimitiveVoteEntry> buffer;
+    private DatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, Object> writeBehind;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        this.votes = BenchmarkData.votes(VOTES, this.items);
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.dao = new MemoryVoteDao(false);
+        this.manager = new DatabaseVoteManager<>(this.dao, Function.identity(), new ItemScoreAlgorithm(), Integer::valueOf, t -> t);
+        this.incremental = new IncrementalDatabaseVoteManager<>(this.dao, this.dao, Function.identity(), new ItemScoreAlgorithm(), Integer::valueOf, t -> t);
+        this.incremental.tally();
+        this.buffer = new WriteBehindBuffer<>(this.dao, 4 * this.batchSize, this.batchSize, 10, TimeUnit.MILLISECONDS);
+        this.writeBehind = new DatabaseVoteManager<>(this.dao, Function.identity(), new ItemScoreAlgorithm(), this.buffer, stage -> stage, t -> t, this.batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardown() {
+        this.buffer.close();
+    }
+
+    @Benchmark
+    public Object castVote(final Cursor cursor) {
+        return this.manager.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    public Object castVoteIncremental(final Cursor cursor) {
+        return this.incremental.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    public Object castVoteWriteBehind(final Cursor cursor) {
+        return this.writeBehind.castVote(cursor.next(this.votes));
+    }
+
+    @Benchmark
+    public void insertBatch(final Cursor cursor) {
+        this.dao.insertAll(cursor.nextBatch(this.votes, this.batchSize));
+    }
+}
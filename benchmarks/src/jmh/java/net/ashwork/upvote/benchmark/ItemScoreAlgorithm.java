@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.MergeableTallyAlgorithm;
+import net.ashwork.upvote.domain.algorithm.PrimitiveTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+
+/**
+ * A tally which sums the votes on each item. The running state is returned
+ * as the response, so the benchmarks measure the tally rather than copying
+ * its result.
+ */
+public final class ItemScoreAlgorithm implements PrimitiveTallyAlgorithm<LongLongHashMap, Object>, MergeableTallyAlgorithm<PrimitiveVoteEntry, LongLongHashMap, Object> {
+
+    @Override
+    public LongLongHashMap createState() {
+        return new LongLongHashMap();
+    }
+
+    @Override
+    public void accumulate(final LongLongHashMap state, final long user, final long item, final int vote, final long time) {
+        state.addTo(item, vote);
+    }
+
+    @Override
+    public LongLongHashMap combine(final LongLongHashMap left, final LongLongHashMap right) {
+        right.forEach(left::addTo);
+        return left;
+    }
+
+    @Override
+    public Object result(final LongLongHashMap state) {
+        return state;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+/**
+ * The weight of an item calculated by a weighted tally.
+ */
+public final class ItemWeight {
+
+    private final long item;
+    private final double weight;
+
+    /**
+     * A simple constructor.
+     *
+     * @param item the item being weighted
+     * @param weight the weight of the item
+     */
+    public ItemWeight(final long item, final double weight) {
+        this.item = item;
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the item being weighted.
+     *
+     * @return the item being weighted
+     */
+    public long getItem() {
+        return this.item;
+    }
+
+    /**
+     * Gets the weight of the item.
+     *
+     * @return the weight of the item
+     */
+    public double getWeight() {
+        return this.weight;
+    }
+}
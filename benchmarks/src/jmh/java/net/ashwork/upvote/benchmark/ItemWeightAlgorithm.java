@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.WeightedTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A weighted tally which blends the previous weight of each item with its
+ * current score. Items without votes keep their previous weight.
+ */
+public final class ItemWeightAlgorithm implements WeightedTallyAlgorithm<PrimitiveVoteEntry, ItemWeight, List<ItemWeight>> {
+
+    private static final double RETAINED = 0.9;
+
+    @Override
+    public List<ItemWeight> execute(final List<PrimitiveVoteEntry> entries, final List<ItemWeight> weights) {
+        final LongLongHashMap scores = new LongLongHashMap();
+        for (final PrimitiveVoteEntry entry : entries) {
+            scores.addTo(entry.getItemAsLong(), entry.getVoteAsInt());
+        }
+        final List<ItemWeight> updated = new ArrayList<>(Math.max(weights.size(), scores.size()));
+        final LongLongHashMap seen = new LongLongHashMap(weights.size());
+        for (final ItemWeight weight : weights) {
+            seen.put(weight.getItem(), 1L);
+            final long score = scores.get(weight.getItem(), 0L);
+            updated.add(new ItemWeight(weight.getItem(), RETAINED * weight.getWeight() + (1 - RETAINED) * score));
+        }
+        scores.forEach((item, score) -> {
+            if (!seen.containsKey(item)) {
+                updated.add(new ItemWeight(item, (1 - RETAINED) * score));
+            }
+        });
+        return updated;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory stand-in for a table of votes, indexed by item. The entries
+ * themselves are used as the database objects.
+ *
+ * <p>A table which does not retain its rows only counts insertions, so that
+ * ingestion benchmarks measure the managers rather than the growth of the
+ * table.
+ */
+public final class MemoryVoteDao implements InsertDao<PrimitiveVoteEntry>, GetDao<PrimitiveVoteEntry>, ItemGetDao<Long, PrimitiveVoteEntry> {
+
+    private final boolean retain;
+    private final List<PrimitiveVoteEntry> rows;
+    private final Map<Long, List<PrimitiveVoteEntry>> byItem;
+    private int inserted;
+
+    /**
+     * A simple constructor.
+     *
+     * @param retain whether inserted rows are kept within the table
+     */
+    public MemoryVoteDao(final boolean retain) {
+        this.retain = retain;
+        this.rows = new ArrayList<>();
+        this.byItem = new HashMap<>();
+    }
+
+    @Override
+    public synchronized int insert(final PrimitiveVoteEntry dbo) {
+        if (this.retain) {
+            this.rows.add(dbo);
+            this.byItem.computeIfAbsent(dbo.getItemAsLong(), item -> new ArrayList<>()).add(dbo);
+        }
+        return ++this.inserted;
+    }
+
+    @Override
+    public synchronized void insertAll(final List<PrimitiveVoteEntry> dbos) {
+        for (final PrimitiveVoteEntry dbo : dbos) {
+            this.insert(dbo);
+        }
+    }
+
+    @Override
+    public synchronized List<PrimitiveVoteEntry> getAll() {
+        return new ArrayList<>(this.rows);
+    }
+
+    @Override
+    public synchronized List<PrimitiveVoteEntry> getAllByItem(final Long item) {
+        final List<PrimitiveVoteEntry> dbos = this.byItem.get(item);
+        return dbos == null ? Collections.emptyList() : new ArrayList<>(dbos);
+    }
+
+    /**
+     * Removes every row from the table.
+     */
+    public synchronized void clear() {
+        this.rows.clear();
+        this.byItem.clear();
+        this.inserted = 0;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.UpdateDao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory stand-in for a table of item weights keyed by item. Every
+ * written row is counted so that the write volume of a tally can be reported.
+ */
+public final class MemoryWeightDao implements InsertDao<ItemWeight>, GetDao<ItemWeight>, UpdateDao<ItemWeight> {
+
+    private final Map<Long, ItemWeight> rows;
+    private final LongAdder written;
+
+    /**
+     * A simple constructor.
+     */
+    public MemoryWeightDao() {
+        this.rows = new LinkedHashMap<>();
+        this.written = new LongAdder();
+    }
+
+    @Override
+    public synchronized int insert(final ItemWeight dbo) {
+        this.rows.put(dbo.getItem(), dbo);
+        this.written.increment();
+        return this.rows.size();
+    }
+
+    @Override
+    public synchronized void insertAll(final List<ItemWeight> dbos) {
+        for (final ItemWeight dbo : dbos) {
+            this.insert(dbo);
+        }
+    }
+
+    @Override
+    public void upsertAll(final List<ItemWeight> dbos) {
+        this.insertAll(dbos);
+    }
+
+    @Override
+    public synchronized List<ItemWeight> getAll() {
+        return new ArrayList<>(this.rows.values());
+    }
+
+    /**
+     * Gets the number of rows written to the table.
+     *
+     * @return the number of written rows
+     */
+    public long getWritten() {
+        return this.written.sum();
+    }
+}
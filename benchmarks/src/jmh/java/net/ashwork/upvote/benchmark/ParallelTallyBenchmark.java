@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.ParallelTallyAlgorithm;
+import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a tally split across a number of worker threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelTallyBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    @Param({"100", "100000"})
+    public int items;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private List<PrimitiveVoteEntry> votes;
+    private ForkJoinPool pool;
+    private TallyAlgorithm<PrimitiveVoteEntry, Object> algorithm;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.votes = BenchmarkData.votes(this.entries, this.items);
+        this.pool = new ForkJoinPool(this.threads);
+        this.algorithm = new ParallelTallyAlgorithm<>(new ItemScoreAlgorithm(), this.pool, ParallelTallyAlgorithm.DEFAULT_THRESHOLD);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public Object parallelTally() {
+        return this.algorithm.execute(this.votes);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.manager.IncrementalDatabaseVoteManager;
+import net.ashwork.upvote.database.manager.ItemDatabaseVoteManager;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the latency of tallying a populated table, either from every row
+ * or from the running state of an incremental tally.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TallyBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    @Param({"100", "100000"})
+    public int items;
+
+    private ItemDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, Object> manager;
+    private IncrementalDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, MemoryVoteDao, LongLongHashMap, Object> incremental;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final MemoryVoteDao dao = new MemoryVoteDao(true);
+        dao.insertAll(BenchmarkData.votes(this.entries, this.items));
+        this.manager = new ItemDatabaseVoteManager<>(dao, dao, Function.identity(), new ItemScoreAlgorithm(), Integer::valueOf, t -> t);
+        this.incremental = new IncrementalDatabaseVoteManager<>(dao, dao, Function.identity(), new ItemScoreAlgorithm(), Integer::valueOf, t -> t);
+        this.incremental.tally();
+    }
+
+    @Benchmark
+    public Object fullTally() {
+        return this.manager.tally();
+    }
+
+    @Benchmark
+    public Object itemTally() {
+        return this.manager.tally(Long.valueOf(0L));
+    }
+
+    @Benchmark
+    public Object incrementalTally() {
+        return this.incremental.tally();
+    }
+
+    @Benchmark
+    public Object incrementalRebuild() {
+        return this.incremental.rebuild();
+    }
+}
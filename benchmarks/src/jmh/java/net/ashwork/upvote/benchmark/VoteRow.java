@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+
+/**
+ * A mutable database object holding a vote, as would be bound to the
+ * parameters of an insert statement.
+ */
+public final class VoteRow {
+
+    private long user;
+    private long item;
+    private int vote;
+    private long time;
+
+    /**
+     * Creates a row holding a vote.
+     *
+     * @param entry the entry holding the vote
+     * @return a new row holding the vote
+     */
+    public static VoteRow of(final PrimitiveVoteEntry entry) {
+        final VoteRow row = new VoteRow();
+        row.set(entry);
+        return row;
+    }
+
+    /**
+     * Copies a vote into the row.
+     *
+     * @param entry the entry holding the vote
+     */
+    public void set(final PrimitiveVoteEntry entry) {
+        this.user = entry.getUserAsLong();
+        this.item = entry.getItemAsLong();
+        this.vote = entry.getVoteAsInt();
+        this.time = entry.getTimeAsLong();
+    }
+
+    /**
+     * Gets a checksum of the row, standing in for binding its columns.
+     *
+     * @return a checksum of the columns
+     */
+    public long checksum() {
+        return this.user ^ this.item ^ this.vote ^ this.time;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.benchmark;
+
+import net.ashwork.upvote.database.domain.algorithm.DatabaseWeightedTallyAlgorithm;
+import net.ashwork.upvote.database.domain.algorithm.DeltaDatabaseWeightedTallyAlgorithm;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of a weighted tally which reads and persists its
+ * weights, comparing a reload on every run, a cached snapshot, and a cached
+ * snapshot which only writes changed weights.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeightedTallyBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int entries;
+
+    @Param({"1000", "100000"})
+    public int items;
+
+    private List<PrimitiveVoteEntry> votes;
+    private DatabaseWeightedTallyAlgorithm<PrimitiveVoteEntry, ItemWeight, MemoryWeightDao, Object> reloading;
+    private DatabaseWeightedTallyAlgorithm<PrimitiveVoteEntry, ItemWeight, MemoryWeightDao, Object> cached;
+    private DatabaseWeightedTallyAlgorithm<PrimitiveVoteEntry, ItemWeight, MemoryWeightDao, Object> delta;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.votes = BenchmarkData.votes(this.entries, this.items);
+        this.reloading = new DatabaseWeightedTallyAlgorithm<>(new MemoryWeightDao(), () -> Boolean.TRUE, t -> t, new ItemWeightAlgorithm());
+        this.cached = new DatabaseWeightedTallyAlgorithm<>(new MemoryWeightDao(), () -> Boolean.TRUE, t -> t, new ItemWeightAlgorithm(), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        this.delta = new DeltaDatabaseWeightedTallyAlgorithm<>(new MemoryWeightDao(), () -> Boolean.TRUE, t -> t, new ItemWeightAlgorithm(), Long.MAX_VALUE, TimeUnit.NANOSECONDS,
+                ItemWeight::getItem, DeltaDatabaseWeightedTallyAlgorithm.beyondTolerance(ItemWeight::getWeight, 1e-3), DeltaDatabaseWeightedTallyAlgorithm.DEFAULT_CHUNK_SIZE);
+        this.reloading.execute(this.votes);
+        this.cached.execute(this.votes);
+        this.delta.execute(this.votes);
+    }
+
+    @Benchmark
+    public Object reloadingTally() {
+        return this.reloading.execute(this.votes);
+    }
+
+    @Benchmark
+    public Object cachedTally() {
+        return this.cached.execute(this.votes);
+    }
+
+    @Benchmark
+    public Object deltaTally() {
+        return this.delta.execute(this.votes);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * The framing shared by every batch codec. A frame is laid out as:
+ *
+ * <pre>
+ * magic   : short  'UV'
+ * type    : byte   kind of records within the frame
+ * version : byte   version of the record format
+ * length  : int    number of bytes of the records
+ * count   : int    number of records
+ * records : byte[length]
+ * crc     : int    CRC-32 of every preceding byte of the frame
+ * </pre>
+ *
+ * <p>Every multi-byte field, including those within the records, is written
+ * in {@link java.nio.ByteOrder#BIG_ENDIAN big-endian} order. The codecs pin
+ * the order of the buffer while reading or writing a frame and restore it
+ * afterwards, so a frame does not depend on the order the buffer was given in.
+ */
+final class BatchFrame {
+
+    static final short MAGIC = 0x5556;
+    static final byte VERSION = 1;
+    static final byte VOTES = 1;
+    static final byte REPUTATIONS = 2;
+    static final int HEADER_SIZE = Short.BYTES + Byte.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES;
+    static final int TRAILER_SIZE = Integer.BYTES;
+
+    /**
+     * Writes the header of a frame whose length and count are patched once
+     * the frame is finished.
+     *
+     * @param buffer the big-endian buffer to write to, positioned at the start
+     *               of the frame
+     * @param type the kind of records within the frame
+     */
+    static void begin(final ByteBuffer buffer, final byte type) {
+        buffer.putShort(MAGIC).put(type).put(VERSION).putInt(0).putInt(0);
+    }
+
+    /**
+     * Patches the header of a frame and writes its checksum.
+     *
+     * @param buffer the big-endian buffer being written to, positioned after the records
+     * @param start the index of the start of the frame
+     * @param count the number of records written
+     * @param checksum a reusable checksum
+     */
+    static void finish(final ByteBuffer buffer, final int start, final int count, final CRC32 checksum) {
+        final int end = buffer.position();
+        buffer.putInt(start + Short.BYTES + Byte.BYTES + Byte.BYTES, end - start - HEADER_SIZE);
+        buffer.putInt(start + Short.BYTES + Byte.BYTES + Byte.BYTES + Integer.BYTES, count);
+        final int crc = checksum(buffer, start, end, checksum);
+        buffer.position(end);
+        buffer.putInt(crc);
+    }
+
+    /**
+     * Verifies the frame at the position of the buffer and moves the position
+     * to the start of its records.
+     *
+     * @param buffer the big-endian buffer to read from
+     * @param type the expected kind of records
+     * @param checksum a reusable checksum
+     * @return the number of records within the frame
+     * @throws IllegalArgumentException if the frame is malformed, truncated, or
+     *                                  fails its checksum
+     */
+    static int open(final ByteBuffer buffer, final byte type, final CRC32 checksum) {
+        final int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IllegalArgumentException("The frame is truncated");
+        }
+        if (buffer.getShort(start) != MAGIC || buffer.get(start + Short.BYTES) != type || buffer.get(start + Short.BYTES + Byte.BYTES) != VERSION) {
+            throw new IllegalArgumentException("The frame does not hold version " + VERSION + " records of type " + type);
+        }
+        final int length = buffer.getInt(start + Short.BYTES + Byte.BYTES + Byte.BYTES);
+        if (length < 0 || length > buffer.remaining() - HEADER_SIZE - TRAILER_SIZE) {
+            throw new IllegalArgumentException("The frame is truncated");
+        }
+        final int end = start + HEADER_SIZE + length;
+        if (checksum(buffer, start, end, checksum) != buffer.getInt(end)) {
+            throw new IllegalArgumentException("The frame failed its checksum");
+        }
+        buffer.position(start + HEADER_SIZE);
+        return buffer.getInt(start + HEADER_SIZE - Integer.BYTES);
+    }
+
+    /**
+     * Verifies that every record of a frame was read and moves the position of
+     * the buffer past the frame.
+     *
+     * @param buffer the big-endian buffer being read from, positioned after the records
+     * @param start the index of the start of the frame
+     * @throws IllegalArgumentException if the records did not fill the frame
+     */
+    static void close(final ByteBuffer buffer, final int start) {
+        final int end = start + HEADER_SIZE + buffer.getInt(start + Short.BYTES + Byte.BYTES + Byte.BYTES);
+        if (buffer.position() != end) {
+            throw new IllegalArgumentException("The records do not match the length of the frame");
+        }
+        buffer.position(end + TRAILER_SIZE);
+    }
+
+    /**
+     * Computes the checksum of a range of the buffer without allocating. The
+     * position and limit of the buffer are restored afterwards.
+     *
+     * @param buffer the buffer to read
+     * @param start the index of the first byte
+     * @param end the index after the last byte
+     * @param checksum a reusable checksum
+     * @return the checksum of the range
+     */
+    private static int checksum(final ByteBuffer buffer, final int start, final int end, final CRC32 checksum) {
+        final int position = buffer.position();
+        final int limit = buffer.limit();
+        buffer.limit(end).position(start);
+        checksum.reset();
+        checksum.update(buffer);
+        buffer.limit(limit).position(position);
+        return (int) checksum.getValue();
+    }
+}
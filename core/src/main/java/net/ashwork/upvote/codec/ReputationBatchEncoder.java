@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import net.ashwork.upvote.domain.PrimitiveReputationEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * An encoder which writes batches of reputations to a {@link ByteBuffer} in a
+ * compact binary format. Each batch is written as a single checksummed frame
+ * which can be read back with a {@link ReputationBatchDecoder}.
+ *
+ * <p>Within a frame, users are written as zig-zag variable-length longs, each
+ * time is written as the zig-zag variable-length difference from the time
+ * before it, and each reputation is written as its raw {@code double} bits.
+ *
+ * <p>An encoder writes directly to the buffer, so encoding a batch does not
+ * allocate. An encoder may be reused for any number of batches, but only one
+ * batch may be written at a time.
+ *
+ * @apiNote
+ * The buffer must have enough space remaining for the entire frame, otherwise
+ * a {@link java.nio.BufferOverflowException} is thrown. When any write fails,
+ * the frame is discarded as if by {@link #abort()} before the exception is
+ * rethrown, so the encoder may begin a new frame straight away.
+ * {@link #maxFrameSize(int)} gives an upper bound on the size of a frame for
+ * some number of reputations.
+ *
+ * <p>While a frame is being written, the buffer is set to
+ * {@link ByteOrder#BIG_ENDIAN big-endian} order. The order the buffer was
+ * given in is restored once the frame is finished or discarded.
+ *
+ * @since 1.1.0
+ */
+public final class ReputationBatchEncoder {
+
+    /**
+     * The maximum number of bytes a single reputation is written to.
+     */
+    public static final int MAX_RECORD_SIZE = VarInts.MAX_LONG_SIZE * 2 + Double.BYTES;
+
+    private final CRC32 checksum;
+    private ByteBuffer buffer;
+    private ByteOrder order;
+    private int start;
+    private int count;
+    private long previousTime;
+
+    /**
+     * A simple constructor.
+     */
+    public ReputationBatchEncoder() {
+        this.checksum = new CRC32();
+    }
+
+    /**
+     * Gets an upper bound on the number of bytes a frame of some number of
+     * reputations is written to.
+     *
+     * @param reputations the number of reputations within the frame
+     * @return the maximum size of the frame in bytes
+     */
+    public static int maxFrameSize(final int reputations) {
+        return BatchFrame.HEADER_SIZE + reputations * MAX_RECORD_SIZE + BatchFrame.TRAILER_SIZE;
+    }
+
+    /**
+     * Starts a new frame at the position of the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @return this encoder
+     * @throws IllegalStateException if a frame is already being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining for the header
+     */
+    public ReputationBatchEncoder begin(final ByteBuffer buffer) {
+        if (this.buffer != null) {
+            throw new IllegalStateException("A frame is already being written");
+        }
+        this.order = buffer.order();
+        this.start = buffer.position();
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        this.count = 0;
+        this.previousTime = 0L;
+        try {
+            BatchFrame.begin(buffer, BatchFrame.REPUTATIONS);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Writes a reputation to the current frame.
+     *
+     * @param user the user the reputation belongs to
+     * @param reputation the reputation
+     * @param time the time the reputation was set
+     * @return this encoder
+     * @throws IllegalStateException if no frame is being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining, discarding the frame
+     */
+    public ReputationBatchEncoder add(final long user, final double reputation, final long time) {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("No frame is being written");
+        }
+        try {
+            VarInts.putSignedVarLong(buffer, user);
+            VarInts.putSignedVarLong(buffer, time - this.previousTime);
+            buffer.putDouble(reputation);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        this.previousTime = time;
+        this.count++;
+        return this;
+    }
+
+    /**
+     * Writes a reputation to the current frame.
+     *
+     * @param entry the entry holding the reputation
+     * @return this encoder
+     * @throws IllegalStateException if no frame is being written
+     */
+    public ReputationBatchEncoder add(final PrimitiveReputationEntry entry) {
+        return this.add(entry.getUserAsLong(), entry.getReputationAsDouble(), entry.getTimeAsLong());
+    }
+
+    /**
+     * Finishes the current frame, leaving the position of the buffer after it
+     * and restoring the order of the buffer.
+     *
+     * @return the number of reputations within the frame
+     * @throws IllegalStateException if no frame is being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining for the checksum,
+     *                                          discarding the frame
+     */
+    public int finish() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("No frame is being written");
+        }
+        try {
+            BatchFrame.finish(buffer, this.start, this.count, this.checksum);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        this.buffer = null;
+        buffer.order(this.order);
+        return this.count;
+    }
+
+    /**
+     * Discards the current frame, moving the position of the buffer back to
+     * the start of the frame and restoring the order of the buffer. Does
+     * nothing if no frame is being written.
+     *
+     * @apiNote
+     * The bytes already written for the frame are not cleared; they are
+     * overwritten by whatever is written to the buffer next.
+     */
+    public void abort() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        this.buffer = null;
+        buffer.position(this.start);
+        buffer.order(this.order);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A utility class to write and read variable-length integers. Each byte holds
+ * seven bits of the value, least significant first, with the high bit set on
+ * every byte but the last. Signed values are zig-zag encoded first so that
+ * values close to zero are short regardless of their sign.
+ *
+ * @since 1.1.0
+ */
+public final class VarInts {
+
+    /**
+     * The maximum number of bytes a variable-length long is written to.
+     */
+    public static final int MAX_LONG_SIZE = 10;
+
+    /**
+     * The maximum number of bytes a variable-length int is written to.
+     */
+    public static final int MAX_INT_SIZE = 5;
+
+    /**
+     * Maps a signed value to an unsigned value such that values of small
+     * magnitude become small.
+     *
+     * @param value the signed value
+     * @return the zig-zag encoded value
+     */
+    public static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigZag(long)}.
+     *
+     * @param value the zig-zag encoded value
+     * @return the signed value
+     */
+    public static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an unsigned variable-length long to the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @param value the value, treated as unsigned
+     */
+    public static void putVarLong(final ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length long from the buffer.
+     *
+     * @param buffer the buffer to read from
+     * @return the value, treated as unsigned
+     * @throws IllegalArgumentException if the value is longer than
+     *                                  {@link #MAX_LONG_SIZE} bytes
+     */
+    public static long getVarLong(final ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("A variable-length long is longer than " + MAX_LONG_SIZE + " bytes");
+    }
+
+    /**
+     * Writes a signed variable-length long to the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @param value the signed value
+     */
+    public static void putSignedVarLong(final ByteBuffer buffer, final long value) {
+        putVarLong(buffer, zigZag(value));
+    }
+
+    /**
+     * Reads a signed variable-length long from the buffer.
+     *
+     * @param buffer the buffer to read from
+     * @return the signed value
+     */
+    public static long getSignedVarLong(final ByteBuffer buffer) {
+        return unZigZag(getVarLong(buffer));
+    }
+
+    /**
+     * Gets the number of bytes an unsigned variable-length long is written to.
+     *
+     * @param value the value, treated as unsigned
+     * @return the number of bytes written by {@link #putVarLong(ByteBuffer, long)}
+     */
+    public static int sizeOfVarLong(final long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * A decoder which reads batches of votes written by a {@link VoteBatchEncoder}.
+ * Each vote is handed to a {@link Visitor} as primitives, so decoding a frame
+ * does not allocate.
+ *
+ * <p>A decoder may be reused for any number of frames, but is not
+ * thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class VoteBatchDecoder {
+
+    private final CRC32 checksum;
+    private final int[] dictionary;
+
+    /**
+     * A simple constructor.
+     */
+    public VoteBatchDecoder() {
+        this.checksum = new CRC32();
+        this.dictionary = new int[VoteBatchEncoder.DICTIONARY_SIZE];
+    }
+
+    /**
+     * Reads the frame at the position of the buffer, leaving the position
+     * after it. The buffer is read in big-endian order regardless of its own
+     * order, which is restored afterwards. The checksum of the frame is
+     * verified before any vote is
+     * visited.
+     *
+     * @param buffer the buffer to read from
+     * @param visitor the visitor receiving each vote in the order it was written
+     * @return the number of votes within the frame
+     * @throws IllegalArgumentException if the frame is malformed, truncated, or
+     *                                  fails its checksum
+     */
+    public int decode(final ByteBuffer buffer, final Visitor visitor) {
+        final ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            final int start = buffer.position();
+            final int count = BatchFrame.open(buffer, BatchFrame.VOTES, this.checksum);
+            int dictionarySize = 0;
+            long time = 0L;
+            for (int i = 0; i < count; i++) {
+                final long user = VarInts.getSignedVarLong(buffer);
+                final long item = VarInts.getSignedVarLong(buffer);
+                time += VarInts.getSignedVarLong(buffer);
+                final long index = VarInts.getVarLong(buffer);
+                final int vote;
+                if (index == 0) {
+                    vote = (int) VarInts.getSignedVarLong(buffer);
+                    if (dictionarySize < this.dictionary.length) {
+                        this.dictionary[dictionarySize++] = vote;
+                    }
+                } else if (index <= dictionarySize) {
+                    vote = this.dictionary[(int) index - 1];
+                } else {
+                    throw new IllegalArgumentException("The vote refers to an unknown dictionary entry " + index);
+                }
+                visitor.accept(user, item, vote, time);
+            }
+            BatchFrame.close(buffer, start);
+            return count;
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * A visitor which receives each decoded vote.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Receives a decoded vote.
+         *
+         * @param user the user who cast the vote
+         * @param item the item voted on
+         * @param vote the vote
+         * @param time the time the vote was cast
+         */
+        void accept(final long user, final long item, final int vote, final long time);
+    }
+}
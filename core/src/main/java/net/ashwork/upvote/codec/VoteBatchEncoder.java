@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * An encoder which writes batches of votes to a {@link ByteBuffer} in a
+ * compact binary format. Each batch is written as a single checksummed frame
+ * which can be read back with a {@link VoteBatchDecoder}.
+ *
+ * <p>Within a frame, users and items are written as zig-zag variable-length
+ * longs, each time is written as the zig-zag variable-length difference from
+ * the time before it, and each vote is written as an index into a dictionary
+ * of the values previously seen within the frame. A vote not yet within the
+ * dictionary is written once as a literal and added to it.
+ *
+ * <p>An encoder writes directly to the buffer and holds no per-vote state, so
+ * encoding a batch does not allocate. An encoder may be reused for any number
+ * of batches, but only one batch may be written at a time.
+ *
+ * @apiNote
+ * The buffer must have enough space remaining for the entire frame, otherwise
+ * a {@link java.nio.BufferOverflowException} is thrown. When any write fails,
+ * the frame is discarded as if by {@link #abort()} before the exception is
+ * rethrown, so the encoder may begin a new frame straight away.
+ * {@link #maxFrameSize(int)} gives an upper bound on the size of a frame for
+ * some number of votes.
+ *
+ * <p>While a frame is being written, the buffer is set to
+ * {@link ByteOrder#BIG_ENDIAN big-endian} order. The order the buffer was
+ * given in is restored once the frame is finished or discarded.
+ *
+ * @since 1.1.0
+ */
+public final class VoteBatchEncoder {
+
+    /**
+     * The maximum number of distinct votes held within the dictionary of a
+     * frame. Any further distinct votes are always written as literals.
+     */
+    public static final int DICTIONARY_SIZE = 64;
+
+    /**
+     * The maximum number of bytes a single vote is written to.
+     */
+    public static final int MAX_RECORD_SIZE = VarInts.MAX_LONG_SIZE * 3 + 1 + VarInts.MAX_INT_SIZE;
+
+    private final CRC32 checksum;
+    private final int[] dictionary;
+    private int dictionarySize;
+    private ByteBuffer buffer;
+    private ByteOrder order;
+    private int start;
+    private int count;
+    private long previousTime;
+
+    /**
+     * A simple constructor.
+     */
+    public VoteBatchEncoder() {
+        this.checksum = new CRC32();
+        this.dictionary = new int[DICTIONARY_SIZE];
+    }
+
+    /**
+     * Gets an upper bound on the number of bytes a frame of some number of
+     * votes is written to.
+     *
+     * @param votes the number of votes within the frame
+     * @return the maximum size of the frame in bytes
+     */
+    public static int maxFrameSize(final int votes) {
+        return BatchFrame.HEADER_SIZE + votes * MAX_RECORD_SIZE + BatchFrame.TRAILER_SIZE;
+    }
+
+    /**
+     * Starts a new frame at the position of the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @return this encoder
+     * @throws IllegalStateException if a frame is already being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining for the header
+     */
+    public VoteBatchEncoder begin(final ByteBuffer buffer) {
+        if (this.buffer != null) {
+            throw new IllegalStateException("A frame is already being written");
+        }
+        this.order = buffer.order();
+        this.start = buffer.position();
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+        this.count = 0;
+        this.dictionarySize = 0;
+        this.previousTime = 0L;
+        try {
+            BatchFrame.begin(buffer, BatchFrame.VOTES);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Writes a vote to the current frame.
+     *
+     * @param user the user who cast the vote
+     * @param item the item voted on
+     * @param vote the vote
+     * @param time the time the vote was cast
+     * @return this encoder
+     * @throws IllegalStateException if no frame is being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining, discarding the frame
+     */
+    public VoteBatchEncoder add(final long user, final long item, final int vote, final long time) {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("No frame is being written");
+        }
+        try {
+            VarInts.putSignedVarLong(buffer, user);
+            VarInts.putSignedVarLong(buffer, item);
+            VarInts.putSignedVarLong(buffer, time - this.previousTime);
+            this.putVote(buffer, vote);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        this.previousTime = time;
+        this.count++;
+        return this;
+    }
+
+    /**
+     * Writes a vote to the current frame.
+     *
+     * @param entry the entry holding the vote
+     * @return this encoder
+     * @throws IllegalStateException if no frame is being written
+     */
+    public VoteBatchEncoder add(final PrimitiveVoteEntry entry) {
+        return this.add(entry.getUserAsLong(), entry.getItemAsLong(), entry.getVoteAsInt(), entry.getTimeAsLong());
+    }
+
+    /**
+     * Finishes the current frame, leaving the position of the buffer after it
+     * and restoring the order of the buffer.
+     *
+     * @return the number of votes within the frame
+     * @throws IllegalStateException if no frame is being written
+     * @throws java.nio.BufferOverflowException if the buffer has no space
+     *                                          remaining for the checksum,
+     *                                          discarding the frame
+     */
+    public int finish() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("No frame is being written");
+        }
+        try {
+            BatchFrame.finish(buffer, this.start, this.count, this.checksum);
+        } catch (final RuntimeException e) {
+            this.abort();
+            throw e;
+        }
+        this.buffer = null;
+        buffer.order(this.order);
+        return this.count;
+    }
+
+    /**
+     * Discards the current frame, moving the position of the buffer back to
+     * the start of the frame and restoring the order of the buffer. Does
+     * nothing if no frame is being written.
+     *
+     * @apiNote
+     * The bytes already written for the frame are not cleared; they are
+     * overwritten by whatever is written to the buffer next.
+     */
+    public void abort() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        this.buffer = null;
+        buffer.position(this.start);
+        buffer.order(this.order);
+    }
+
+    /**
+     * Writes a vote as the index of its value within the dictionary offset by
+     * one, or as zero followed by the literal value if it is not within the
+     * dictionary.
+     *
+     * @param buffer the buffer to write to
+     * @param vote the vote
+     */
+    private void putVote(final ByteBuffer buffer, final int vote) {
+        for (int i = 0; i < this.dictionarySize; i++) {
+            if (this.dictionary[i] == vote) {
+                VarInts.putVarLong(buffer, i + 1);
+                return;
+            }
+        }
+        buffer.put((byte) 0);
+        VarInts.putSignedVarLong(buffer, vote);
+        if (this.dictionarySize < DICTIONARY_SIZE) {
+            this.dictionary[this.dictionarySize++] = vote;
+        }
+    }
+}
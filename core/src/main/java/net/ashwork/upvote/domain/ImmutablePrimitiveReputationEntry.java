@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain;
+
+/**
+ * An immutable implementation of {@link PrimitiveReputationEntry}.
+ *
+ * @see PrimitiveReputationEntry#of(long, double, long)
+ */
+final class ImmutablePrimitiveReputationEntry implements PrimitiveReputationEntry {
+
+    private final long user;
+    private final double reputation;
+    private final long time;
+
+    /**
+     * A simple constructor.
+     *
+     * @param user the user whose reputation is being determined
+     * @param reputation the reputation of the user
+     * @param time the time the determination was made
+     */
+    ImmutablePrimitiveReputationEntry(final long user, final double reputation, final long time) {
+        this.user = user;
+        this.reputation = reputation;
+        this.time = time;
+    }
+
+    @Override
+    public long getUserAsLong() {
+        return this.user;
+    }
+
+    @Override
+    public double getReputationAsDouble() {
+        return this.reputation;
+    }
+
+    @Override
+    public long getTimeAsLong() {
+        return this.time;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ImmutablePrimitiveReputationEntry)) {
+            return false;
+        }
+        final ImmutablePrimitiveReputationEntry other = (ImmutablePrimitiveReputationEntry) obj;
+        return this.user == other.user && Double.compare(this.reputation, other.reputation) == 0 && this.time == other.time;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(this.user);
+        result = 31 * result + Double.hashCode(this.reputation);
+        return 31 * result + Long.hashCode(this.time);
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveReputationEntry{user=" + this.user + ", reputation=" + this.reputation + ", time=" + this.time + '}';
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain;
+
+/**
+ * An immutable implementation of {@link PrimitiveVoteEntry}.
+ *
+ * @see PrimitiveVoteEntry#of(long, long, int, long)
+ */
+final class ImmutablePrimitiveVoteEntry implements PrimitiveVoteEntry {
+
+    private final long user;
+    private final long item;
+    private final int vote;
+    private final long time;
+
+    /**
+     * A simple constructor.
+     *
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     */
+    ImmutablePrimitiveVoteEntry(final long user, final long item, final int vote, final long time) {
+        this.user = user;
+        this.item = item;
+        this.vote = vote;
+        this.time = time;
+    }
+
+    @Override
+    public long getUserAsLong() {
+        return this.user;
+    }
+
+    @Override
+    public long getItemAsLong() {
+        return this.item;
+    }
+
+    @Override
+    public int getVoteAsInt() {
+        return this.vote;
+    }
+
+    @Override
+    public long getTimeAsLong() {
+        return this.time;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ImmutablePrimitiveVoteEntry)) {
+            return false;
+        }
+        final ImmutablePrimitiveVoteEntry other = (ImmutablePrimitiveVoteEntry) obj;
+        return this.user == other.user && this.item == other.item && this.vote == other.vote && this.time == other.time;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(this.user);
+        result = 31 * result + Long.hashCode(this.item);
+        result = 31 * result + this.vote;
+        return 31 * result + Long.hashCode(this.time);
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveVoteEntry{user=" + this.user + ", item=" + this.item + ", vote=" + this.vote + ", time=" + this.time + '}';
+    }
+}
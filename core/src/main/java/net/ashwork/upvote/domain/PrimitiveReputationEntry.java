@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain;
+
+/**
+ * A {@link ReputationEntry} whose user is a {@code long} identifier, whose
+ * reputation is a {@code double}, and whose time is a {@code long}, such as
+ * the number of milliseconds since the epoch. The values can be read without
+ * boxing them.
+ *
+ * @apiNote
+ * The boxed getters are only provided so that the entry can be used with
+ * the generic interfaces. Hot paths should use the primitive getters instead.
+ *
+ * @since 1.1.0
+ */
+public interface PrimitiveReputationEntry extends ReputationEntry<Long, Double, Long> {
+
+    /**
+     * Creates an immutable reputation entry.
+     *
+     * @param user the user whose reputation is being determined
+     * @param reputation the reputation of the user
+     * @param time the time the determination was made
+     * @return a new reputation entry
+     */
+    static PrimitiveReputationEntry of(final long user, final double reputation, final long time) {
+        return new ImmutablePrimitiveReputationEntry(user, reputation, time);
+    }
+
+    /**
+     * Gets the user of the entry.
+     *
+     * @return the user of the entry
+     */
+    long getUserAsLong();
+
+    /**
+     * Gets the reputation of the user.
+     *
+     * @return the reputation of the entry
+     */
+    double getReputationAsDouble();
+
+    /**
+     * Gets the timestamp of the entry.
+     *
+     * @return the timestamp of the entry
+     */
+    long getTimeAsLong();
+
+    @Override
+    default Long getUser() {
+        return this.getUserAsLong();
+    }
+
+    @Override
+    default Double getReputation() {
+        return this.getReputationAsDouble();
+    }
+
+    @Override
+    default Long getTime() {
+        return this.getTimeAsLong();
+    }
+}
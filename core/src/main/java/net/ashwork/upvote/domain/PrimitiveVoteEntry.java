@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain;
+
+/**
+ * A {@link VoteEntry} whose user and item are {@code long} identifiers, whose
+ * vote is an {@code int}, and whose time is a {@code long}, such as the number
+ * of milliseconds since the epoch. The values can be read without boxing them.
+ *
+ * @apiNote
+ * The boxed getters are only provided so that the entry can be used with
+ * the generic interfaces. Hot paths should use the primitive getters instead.
+ *
+ * @since 1.1.0
+ */
+public interface PrimitiveVoteEntry extends VoteEntry<Long, Long, Integer, Long> {
+
+    /**
+     * Creates an immutable vote entry.
+     *
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     * @return a new vote entry
+     */
+    static PrimitiveVoteEntry of(final long user, final long item, final int vote, final long time) {
+        return new ImmutablePrimitiveVoteEntry(user, item, vote, time);
+    }
+
+    /**
+     * Gets the user of the entry.
+     *
+     * @return the user of the entry
+     */
+    long getUserAsLong();
+
+    /**
+     * Gets the item being voted on.
+     *
+     * @return the item of the entry
+     */
+    long getItemAsLong();
+
+    /**
+     * Gets the vote cast by the user.
+     *
+     * @return the vote of the entry
+     */
+    int getVoteAsInt();
+
+    /**
+     * Gets the timestamp of the entry.
+     *
+     * @return the timestamp of the entry
+     */
+    long getTimeAsLong();
+
+    @Override
+    default Long getUser() {
+        return this.getUserAsLong();
+    }
+
+    @Override
+    default Long getItem() {
+        return this.getItemAsLong();
+    }
+
+    @Override
+    default Integer getVote() {
+        return this.getVoteAsInt();
+    }
+
+    @Override
+    default Long getTime() {
+        return this.getTimeAsLong();
+    }
+}
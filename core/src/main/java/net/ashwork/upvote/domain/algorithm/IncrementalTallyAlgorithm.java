@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An algorithm used to tally entries one at a time by folding each entry into
+ * some running state. A response can be created from the state at any point
+ * without revisiting the entries that were previously accumulated.
+ *
+ * @apiNote
+ * The state is mutable and owned by whoever created it. Implementations are
+ * not required to be thread-safe, so any state shared between threads must
+ * be synchronized by the caller.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public interface IncrementalTallyAlgorithm<ENTRY, STATE, RESPONSE> extends TallyAlgorithm<ENTRY, RESPONSE> {
+
+    /**
+     * Creates a new state representing a tally with no entries.
+     *
+     * @return a new empty state
+     */
+    STATE createState();
+
+    /**
+     * Folds an entry into the running state of the tally.
+     *
+     * @param state the running state of the tally
+     * @param entry the entry to accumulate
+     */
+    void accumulate(final STATE state, final ENTRY entry);
+
+    /**
+     * Creates a meaningful response from the running state of the tally.
+     *
+     * @apiNote
+     * The state should not be modified by this method so that more entries can
+     * be accumulated afterwards.
+     *
+     * @param state the running state of the tally
+     * @return the response created as a result of the tally
+     */
+    RESPONSE result(final STATE state);
+
+    /**
+     * @implSpec
+     * Accumulates each entry into a newly created state and returns the result
+     * of that state.
+     */
+    @Override
+    default RESPONSE execute(final List<ENTRY> entries) {
+        final STATE state = this.createState();
+        for (final ENTRY entry : entries) {
+            this.accumulate(state, entry);
+        }
+        return this.result(state);
+    }
+
+    /**
+     * @implSpec
+     * Accumulates each entry into a newly created state as it is consumed from
+     * the stream, so only the state is held in memory.
+     */
+    @Override
+    default RESPONSE execute(final Stream<ENTRY> entries) {
+        final STATE state = this.createState();
+        entries.forEachOrdered(entry -> this.accumulate(state, entry));
+        return this.result(state);
+    }
+}
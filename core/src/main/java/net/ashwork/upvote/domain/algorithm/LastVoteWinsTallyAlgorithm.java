@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import net.ashwork.upvote.util.LongLongHashMap;
+import net.ashwork.upvote.util.LongPairIntMap;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link MergeableTallyAlgorithm} which only counts the latest vote of each
+ * user on each item. A vote replaces any earlier vote by the same user on the
+ * same item, so the score of the item only changes by the difference between
+ * the two. A retried vote therefore changes nothing.
+ *
+ * <p>The current vote of each pair is held within a {@link LongPairIntMap}
+ * keyed by the primitive identifiers of the user and item along with the
+ * time of the vote.
+ *
+ * @apiNote
+ * The latest vote is the vote with the latest time, so the tally does not
+ * depend on the order entries are accumulated or states are combined in.
+ * Of two votes with the same time, the greater vote is kept. A missing vote
+ * is treated as a vote of zero.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class LastVoteWinsTallyAlgorithm<ENTRY, RESPONSE> implements MergeableTallyAlgorithm<ENTRY, LastVoteWinsTallyAlgorithm.State, RESPONSE> {
+
+    private final ToLongFunction<ENTRY> user;
+    private final ToLongFunction<ENTRY> item;
+    private final ToIntFunction<ENTRY> vote;
+    private final ToLongFunction<ENTRY> time;
+    private final int concurrency;
+    private final Function<State, RESPONSE> response;
+
+    /**
+     * A simple constructor.
+     *
+     * @param user a function to get the identifier of the user of an entry
+     * @param item a function to get the identifier of the item of an entry
+     * @param vote a function to get the vote of an entry
+     * @param time a function to get the time of an entry
+     * @param concurrency the expected number of threads updating a state at once
+     * @param response a function to convert the deduplicated scores to a response
+     */
+    public LastVoteWinsTallyAlgorithm(final ToLongFunction<ENTRY> user, final ToLongFunction<ENTRY> item, final ToIntFunction<ENTRY> vote, final ToLongFunction<ENTRY> time, final int concurrency, final Function<State, RESPONSE> response) {
+        this.user = user;
+        this.item = item;
+        this.vote = vote;
+        this.time = time;
+        this.concurrency = concurrency;
+        this.response = response;
+    }
+
+    @Override
+    public State createState() {
+        return new State(this.concurrency);
+    }
+
+    @Override
+    public void accumulate(final State state, final ENTRY entry) {
+        state.cast(this.user.applyAsLong(entry), this.item.applyAsLong(entry), this.vote.applyAsInt(entry), this.time.applyAsLong(entry));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The later votes of the right state replace those of the left state, so
+     * the score of each item changes by the difference between them.
+     */
+    @Override
+    public State combine(final State left, final State right) {
+        right.votes.forEachTimed(left::cast);
+        return left;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @apiNote
+     * The state may continue to change after the response is created, so the
+     * response function should copy any scores it needs.
+     */
+    @Override
+    public RESPONSE result(final State state) {
+        return this.response.apply(state);
+    }
+
+    /**
+     * The running state of a deduplicated tally which holds the current vote
+     * of each pair and the score of each item.
+     */
+    public static final class State {
+
+        private final LongPairIntMap votes;
+        private final LongLongHashMap scores;
+
+        /**
+         * A simple constructor.
+         *
+         * @param concurrency the expected number of threads updating the state at once
+         */
+        private State(final int concurrency) {
+            this.votes = new LongPairIntMap(concurrency);
+            this.scores = new LongLongHashMap();
+        }
+
+        /**
+         * Replaces the vote of a user on an item unless the current vote is
+         * later, and updates the score of the item by the difference.
+         *
+         * @param user the user who made the vote
+         * @param item the item being voted on
+         * @param vote the vote cast by the user
+         * @param time the time the vote was cast at
+         * @return the difference applied to the score of the item, which is
+         *         zero if the vote was not replaced
+         */
+        public int cast(final long user, final long item, final int vote, final long time) {
+            final int delta = vote - this.votes.putIfLater(user, item, vote, time, 0);
+            if (delta != 0) {
+                synchronized (this.scores) {
+                    this.scores.addTo(item, delta);
+                }
+            }
+            return delta;
+        }
+
+        /**
+         * Gets the current vote of a user on an item.
+         *
+         * @param user the user who made the vote
+         * @param item the item being voted on
+         * @return the current vote, or zero if the user has not voted on the item
+         */
+        public int getVote(final long user, final long item) {
+            return this.votes.get(user, item, 0);
+        }
+
+        /**
+         * Gets the score of an item.
+         *
+         * @param item the item whose score is read
+         * @return the score of the item
+         */
+        public long getScore(final long item) {
+            synchronized (this.scores) {
+                return this.scores.get(item, 0);
+            }
+        }
+
+        /**
+         * Gets a copy of the score of every item.
+         *
+         * @return a new map of each item to its score
+         */
+        public LongLongHashMap getScores() {
+            synchronized (this.scores) {
+                return this.scores.copy();
+            }
+        }
+
+        /**
+         * Gets the current vote of every user on every item along with the
+         * time it was cast at.
+         *
+         * @return the index of current votes
+         */
+        public LongPairIntMap getVotes() {
+            return this.votes;
+        }
+    }
+}
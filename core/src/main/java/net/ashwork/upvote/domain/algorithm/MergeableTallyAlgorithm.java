@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import java.util.stream.Collector;
+
+/**
+ * An {@link IncrementalTallyAlgorithm} whose running states can be combined.
+ * Separate subsets of the entries can be accumulated into separate states,
+ * possibly on different threads, and then combined into the state of all the
+ * entries.
+ *
+ * @apiNote
+ * Combining must be associative, and combining any state with a newly created
+ * state must not change it. The order of the entries is kept by always passing
+ * the state of the earlier entries as the left state.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the tally
+ * @see ParallelTallyAlgorithm
+ * @since 1.1.0
+ */
+public interface MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE> extends IncrementalTallyAlgorithm<ENTRY, STATE, RESPONSE> {
+
+    /**
+     * Combines two running states of the tally.
+     *
+     * @param left the state of the earlier entries
+     * @param right the state of the later entries
+     * @return the state of both sets of entries, which may be either of the
+     *         supplied states
+     */
+    STATE combine(final STATE left, final STATE right);
+
+    /**
+     * Creates a collector which tallies the entries of a stream. The stream
+     * may be parallel.
+     *
+     * @return a collector which tallies entries using this algorithm
+     */
+    default Collector<ENTRY, STATE, RESPONSE> collector() {
+        return Collector.of(this::createState, this::accumulate, this::combine, this::result);
+    }
+}
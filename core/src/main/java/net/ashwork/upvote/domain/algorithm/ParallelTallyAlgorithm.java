@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TallyAlgorithm} which splits the entries of a
+ * {@link MergeableTallyAlgorithm} across a {@link ForkJoinPool}. Each subset
+ * is accumulated into its own state before the states are combined.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class ParallelTallyAlgorithm<ENTRY, STATE, RESPONSE> implements TallyAlgorithm<ENTRY, RESPONSE> {
+
+    /**
+     * The default number of entries below which a subset is no longer split.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private final MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE> algorithm;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Constructs an algorithm which runs on the {@linkplain ForkJoinPool#commonPool()
+     * common pool} with the {@linkplain #DEFAULT_THRESHOLD default threshold}.
+     *
+     * @param algorithm the algorithm to run in parallel
+     */
+    public ParallelTallyAlgorithm(final MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE> algorithm) {
+        this(algorithm, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * A simple constructor.
+     *
+     * @param algorithm the algorithm to run in parallel
+     * @param pool the pool to run the tally on
+     * @param threshold the number of entries below which a subset is no longer split
+     */
+    public ParallelTallyAlgorithm(final MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE> algorithm, final ForkJoinPool pool, final int threshold) {
+        this.algorithm = algorithm;
+        this.pool = pool;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Lists without random access are tallied as a parallel stream.
+     */
+    @Override
+    public RESPONSE execute(final List<ENTRY> entries) {
+        if (entries.size() <= this.threshold) {
+            return this.algorithm.execute(entries);
+        }
+        if (!(entries instanceof RandomAccess)) {
+            return this.execute(entries.stream());
+        }
+        return this.algorithm.result(this.pool.invoke(new Subset(entries, 0, entries.size())));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The stream is collected in parallel from within the pool, so its tasks
+     * run on the pool rather than the common pool.
+     */
+    @Override
+    public RESPONSE execute(final Stream<ENTRY> entries) {
+        return this.pool.submit(() -> entries.parallel().collect(this.algorithm.collector())).join();
+    }
+
+    /**
+     * A task which accumulates a range of a list into a state, splitting it in
+     * half while it is larger than the threshold.
+     */
+    private final class Subset extends RecursiveTask<STATE> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<ENTRY> entries;
+        private final int start;
+        private final int end;
+
+        /**
+         * A simple constructor.
+         *
+         * @param entries the list of entries being tallied
+         * @param start the first index of the range, inclusive
+         * @param end the last index of the range, exclusive
+         */
+        private Subset(final List<ENTRY> entries, final int start, final int end) {
+            this.entries = entries;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected STATE compute() {
+            final MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE> algorithm = ParallelTallyAlgorithm.this.algorithm;
+            if (this.end - this.start <= ParallelTallyAlgorithm.this.threshold) {
+                final STATE state = algorithm.createState();
+                for (int i = this.start; i < this.end; i++) {
+                    algorithm.accumulate(state, this.entries.get(i));
+                }
+                return state;
+            }
+            final int middle = (this.start + this.end) >>> 1;
+            final Subset left = new Subset(this.entries, this.start, middle);
+            left.fork();
+            final STATE right = new Subset(this.entries, middle, this.end).compute();
+            return algorithm.combine(left.join(), right);
+        }
+    }
+}
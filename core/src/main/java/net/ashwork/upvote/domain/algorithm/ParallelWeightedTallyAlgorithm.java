@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@link WeightedTallyAlgorithm} which binds the weights of each tally to
+ * a {@link MergeableTallyAlgorithm} and runs it as a {@link ParallelTallyAlgorithm}.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <WEIGHT> the type of the weights on the data
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class ParallelWeightedTallyAlgorithm<ENTRY, WEIGHT, STATE, RESPONSE> implements WeightedTallyAlgorithm<ENTRY, WEIGHT, RESPONSE> {
+
+    private final Function<List<WEIGHT>, MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE>> binder;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Constructs an algorithm which runs on the {@linkplain ForkJoinPool#commonPool()
+     * common pool} with the {@linkplain ParallelTallyAlgorithm#DEFAULT_THRESHOLD
+     * default threshold}.
+     *
+     * @param binder a function to create the algorithm which applies the weights
+     */
+    public ParallelWeightedTallyAlgorithm(final Function<List<WEIGHT>, MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE>> binder) {
+        this(binder, ForkJoinPool.commonPool(), ParallelTallyAlgorithm.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * A simple constructor.
+     *
+     * @param binder a function to create the algorithm which applies the weights
+     * @param pool the pool to run the tally on
+     * @param threshold the number of entries below which a subset is no longer split
+     */
+    public ParallelWeightedTallyAlgorithm(final Function<List<WEIGHT>, MergeableTallyAlgorithm<ENTRY, STATE, RESPONSE>> binder, final ForkJoinPool pool, final int threshold) {
+        this.binder = binder;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public RESPONSE execute(final List<ENTRY> entries, final List<WEIGHT> weights) {
+        return this.bind(weights).execute(entries);
+    }
+
+    @Override
+    public RESPONSE execute(final Stream<ENTRY> entries, final List<WEIGHT> weights) {
+        return this.bind(weights).execute(entries);
+    }
+
+    /**
+     * Creates the parallel algorithm which applies the weights.
+     *
+     * @param weights a list of weights to affect the tallied results
+     * @return the parallel algorithm for the weights
+     */
+    private ParallelTallyAlgorithm<ENTRY, STATE, RESPONSE> bind(final List<WEIGHT> weights) {
+        return new ParallelTallyAlgorithm<>(this.binder.apply(weights), this.pool, this.threshold);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+
+/**
+ * An {@link IncrementalTallyAlgorithm} which accumulates the primitive values
+ * of a vote directly. Votes can be tallied without creating or unboxing any
+ * entries, such as when reading them from primitive arrays.
+ *
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the tally
+ * @see PrimitiveVoteEntry
+ * @since 1.1.0
+ */
+public interface PrimitiveTallyAlgorithm<STATE, RESPONSE> extends IncrementalTallyAlgorithm<PrimitiveVoteEntry, STATE, RESPONSE> {
+
+    /**
+     * Folds a vote into the running state of the tally.
+     *
+     * @param state the running state of the tally
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     */
+    void accumulate(final STATE state, final long user, final long item, final int vote, final long time);
+
+    /**
+     * @implSpec
+     * Accumulates the primitive values of the entry.
+     */
+    @Override
+    default void accumulate(final STATE state, final PrimitiveVoteEntry entry) {
+        this.accumulate(state, entry.getUserAsLong(), entry.getItemAsLong(), entry.getVoteAsInt(), entry.getTimeAsLong());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import net.ashwork.upvote.domain.PrimitiveReputationEntry;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.util.LongDoubleHashMap;
+import net.ashwork.upvote.util.LongLongHashMap;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * A {@link MergeableTallyAlgorithm} which weights each vote by the reputation
+ * of the user who cast it. The score of an item is the sum of each vote on it
+ * multiplied by the reputation of its user.
+ *
+ * <p>Votes are joined against the reputations by probing a lookup from the
+ * primitive identifier of a user to their reputation, so the weighted sum is
+ * computed in a single pass over the votes. The lookup is usually a
+ * {@link LongDoubleHashMap} built once per tally with
+ * {@link #join(Iterator, double, Function)}, but may be any table maintained
+ * elsewhere.
+ *
+ * @apiNote
+ * The reputation of a user is read when their vote is accumulated. A running
+ * state therefore keeps the weight a vote had when it was accumulated, even if
+ * the reputation changes afterwards. The lookup must be safe to probe from
+ * multiple threads if states are accumulated in parallel.
+ *
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class ReputationWeightedTallyAlgorithm<RESPONSE> implements PrimitiveTallyAlgorithm<ReputationWeightedTallyAlgorithm.State, RESPONSE>, MergeableTallyAlgorithm<PrimitiveVoteEntry, ReputationWeightedTallyAlgorithm.State, RESPONSE> {
+
+    private final LongToDoubleFunction reputation;
+    private final Function<State, RESPONSE> response;
+
+    /**
+     * A simple constructor.
+     *
+     * @param reputation a function to get the reputation of a user from their identifier
+     * @param response a function to convert the weighted scores to a response
+     */
+    public ReputationWeightedTallyAlgorithm(final LongToDoubleFunction reputation, final Function<State, RESPONSE> response) {
+        this.reputation = reputation;
+        this.response = response;
+    }
+
+    /**
+     * Constructs an algorithm which joins votes against the latest reputation
+     * of each user. The reputations are read once into a hash table which is
+     * probed for every vote.
+     *
+     * @param reputations the reputation entries to join against
+     * @param defaultReputation the reputation of a user with no entries
+     * @param response a function to convert the weighted scores to a response
+     * @param <RESPONSE> the type of the response to the tally
+     * @return an algorithm weighting votes by the latest reputations
+     * @see #latestReputations(Iterator)
+     */
+    public static <RESPONSE> ReputationWeightedTallyAlgorithm<RESPONSE> join(final Iterator<? extends PrimitiveReputationEntry> reputations, final double defaultReputation, final Function<State, RESPONSE> response) {
+        final LongDoubleHashMap table = latestReputations(reputations);
+        return new ReputationWeightedTallyAlgorithm<>(user -> table.get(user, defaultReputation), response);
+    }
+
+    /**
+     * Builds a table of the latest reputation of each user. When a user has
+     * many entries, the entry with the latest time is kept, preferring the
+     * later entry on a tie.
+     *
+     * @param reputations the reputation entries to read
+     * @return a new table of each user to their latest reputation
+     */
+    public static LongDoubleHashMap latestReputations(final Iterator<? extends PrimitiveReputationEntry> reputations) {
+        final LongDoubleHashMap table = new LongDoubleHashMap();
+        final LongLongHashMap times = new LongLongHashMap();
+        while (reputations.hasNext()) {
+            final PrimitiveReputationEntry entry = reputations.next();
+            final long user = entry.getUserAsLong();
+            final long time = entry.getTimeAsLong();
+            if (!times.containsKey(user) || times.get(user, 0L) <= time) {
+                times.put(user, time);
+                table.put(user, entry.getReputationAsDouble());
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public State createState() {
+        return new State();
+    }
+
+    @Override
+    public void accumulate(final State state, final long user, final long item, final int vote, final long time) {
+        state.scores.addTo(item, vote * this.reputation.applyAsDouble(user));
+    }
+
+    @Override
+    public void accumulate(final State state, final PrimitiveVoteEntry entry) {
+        this.accumulate(state, entry.getUserAsLong(), entry.getItemAsLong(), entry.getVoteAsInt(), entry.getTimeAsLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The scores of the right state are added to the left state.
+     */
+    @Override
+    public State combine(final State left, final State right) {
+        right.scores.forEach(left.scores::addTo);
+        return left;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @apiNote
+     * The state may continue to change after the response is created, so the
+     * response function should copy any scores it needs.
+     */
+    @Override
+    public RESPONSE result(final State state) {
+        return this.response.apply(state);
+    }
+
+    /**
+     * The running state of a weighted tally which holds the weighted score of
+     * each item.
+     */
+    public static final class State {
+
+        private final LongDoubleHashMap scores;
+
+        /**
+         * A simple constructor.
+         */
+        private State() {
+            this.scores = new LongDoubleHashMap();
+        }
+
+        /**
+         * Gets the weighted score of an item.
+         *
+         * @param item the item whose score is read
+         * @return the weighted score of the item
+         */
+        public double getScore(final long item) {
+            return this.scores.get(item, 0.0);
+        }
+
+        /**
+         * Gets a copy of the weighted score of every item.
+         *
+         * @return a new map of each item to its weighted score
+         */
+        public LongDoubleHashMap getScores() {
+            return this.scores.copy();
+        }
+    }
+}
@@ -26,6 +26,8 @@
 package net.ashwork.upvote.domain.algorithm;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An algorithm used to tally all or a specific subset of entries and return some
@@ -50,4 +52,22 @@ public interface TallyAlgorithm<ENTRY, RESPONSE> {
      * @return the response created as a result of the tally
      */
     RESPONSE execute(final List<ENTRY> entries);
+
+    /**
+     * Executes a tally on a stream of entries and returns some meaningful
+     * response.
+     *
+     * @implSpec
+     * The default implementation collects the stream into a list and passes
+     * it to {@link #execute(List)}. Algorithms which can consume one entry at
+     * a time should override this method so that the entries do not need to
+     * be held in memory all at once.
+     *
+     * @param entries a stream of entries to tally
+     * @return the response created as a result of the tally
+     * @since 1.1.0
+     */
+    default RESPONSE execute(final Stream<ENTRY> entries) {
+        return this.execute(entries.collect(Collectors.toList()));
+    }
 }
@@ -28,6 +28,8 @@ package net.ashwork.upvote.domain.algorithm;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An algorithm used to tally all or a specific subset of entries with some
@@ -67,4 +69,39 @@ public interface WeightedTallyAlgorithm<ENTRY, WEIGHT, RESPONSE> extends TallyAl
     default RESPONSE execute(final List<ENTRY> entries) {
         return this.execute(entries, Collections.emptyList());
     }
+
+    /**
+     * Executes a tally on a stream of entries, applies some weights, and
+     * returns some meaningful response.
+     *
+     * @apiNote
+     * Only the entries are streamed as the weights are usually accessed many
+     * times throughout the tally.
+     *
+     * @implSpec
+     * The default implementation collects the stream into a list and passes
+     * it to {@link #execute(List, List)}. Algorithms which can consume one
+     * entry at a time should override this method so that the entries do not
+     * need to be held in memory all at once.
+     *
+     * @param entries a stream of entries to tally
+     * @param weights a list of weights to affect the tallied results
+     * @return the response created as a result of the tally
+     * @since 1.1.0
+     */
+    default RESPONSE execute(final Stream<ENTRY> entries, final List<WEIGHT> weights) {
+        return this.execute(entries.collect(Collectors.toList()), weights);
+    }
+
+    /**
+     * @implSpec
+     * When no weights are specified, an empty list will be passed to the
+     * executing algorithm.
+     *
+     * @see #execute(Stream, List)
+     */
+    @Override
+    default RESPONSE execute(final Stream<ENTRY> entries) {
+        return this.execute(entries, Collections.emptyList());
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import net.ashwork.upvote.util.TimeBucketRing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link MergeableTallyAlgorithm} which keeps the scores of each item within
+ * time buckets, such that the score over a recent window of time or a score
+ * decayed by age can be queried without revisiting the entries.
+ *
+ * <p>Each item holds a {@link TimeBucketRing} spanning {@code bucketWidth *
+ * buckets} units of time. For example, hourly buckets kept for a week can
+ * answer the score of the last hour, day, or week as well as a hot score
+ * with a half-life of a few hours.
+ *
+ * @apiNote
+ * Times are typically milliseconds since the epoch, but any unit may be used
+ * as long as the entries, bucket width, and queries agree.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <ITEM> the type of the item
+ * @param <RESPONSE> the type of the response to the tally
+ * @see TimeBucketRing
+ * @since 1.1.0
+ */
+public class WindowedTallyAlgorithm<ENTRY, ITEM, RESPONSE> implements MergeableTallyAlgorithm<ENTRY, WindowedTallyAlgorithm.State<ITEM>, RESPONSE> {
+
+    private final Function<ENTRY, ITEM> item;
+    private final ToLongFunction<ENTRY> time;
+    private final ToLongFunction<ENTRY> score;
+    private final long bucketWidth;
+    private final int buckets;
+    private final Function<State<ITEM>, RESPONSE> response;
+
+    /**
+     * A simple constructor.
+     *
+     * @param item a function to get the item of an entry
+     * @param time a function to get the time of an entry
+     * @param score a function to convert an entry to the amount it adds to the score of its item
+     * @param bucketWidth the span of time covered by each bucket
+     * @param buckets the number of buckets kept for each item
+     * @param response a function to convert the windowed scores to a response
+     */
+    public WindowedTallyAlgorithm(final Function<ENTRY, ITEM> item, final ToLongFunction<ENTRY> time, final ToLongFunction<ENTRY> score, final long bucketWidth, final int buckets, final Function<State<ITEM>, RESPONSE> response) {
+        if (bucketWidth <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("The bucket width and number of buckets must be positive");
+        }
+        this.item = item;
+        this.time = time;
+        this.score = score;
+        this.bucketWidth = bucketWidth;
+        this.buckets = buckets;
+        this.response = response;
+    }
+
+    @Override
+    public State<ITEM> createState() {
+        return new State<>(this.bucketWidth, this.buckets);
+    }
+
+    @Override
+    public void accumulate(final State<ITEM> state, final ENTRY entry) {
+        state.add(this.item.apply(entry), this.time.applyAsLong(entry), this.score.applyAsLong(entry));
+    }
+
+    @Override
+    public State<ITEM> combine(final State<ITEM> left, final State<ITEM> right) {
+        left.merge(right);
+        return left;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @apiNote
+     * The state may continue to change after the response is created, so the
+     * response function should copy any scores it needs.
+     */
+    @Override
+    public RESPONSE result(final State<ITEM> state) {
+        return this.response.apply(state);
+    }
+
+    /**
+     * The running state of a windowed tally which holds the time buckets of
+     * each item.
+     *
+     * @param <ITEM> the type of the item
+     */
+    public static final class State<ITEM> {
+
+        private final long bucketWidth;
+        private final int buckets;
+        private final Map<ITEM, TimeBucketRing> rings;
+        private long latestTime;
+        private long nextExpiry;
+
+        /**
+         * A simple constructor.
+         *
+         * @param bucketWidth the span of time covered by each bucket
+         * @param buckets the number of buckets kept for each item
+         */
+        private State(final long bucketWidth, final int buckets) {
+            this.bucketWidth = bucketWidth;
+            this.buckets = buckets;
+            this.rings = new HashMap<>();
+            this.latestTime = Long.MIN_VALUE;
+            this.nextExpiry = Long.MIN_VALUE;
+        }
+
+        /**
+         * Adds a score to an item at the specified time.
+         *
+         * @implNote
+         * Once per span of the rings, items whose buckets have all expired
+         * relative to the latest time seen are removed.
+         *
+         * @param item the item being voted on
+         * @param time the time of the vote
+         * @param score the amount added to the score of the item
+         */
+        private void add(final ITEM item, final long time, final long score) {
+            this.rings.computeIfAbsent(item, i -> new TimeBucketRing(this.bucketWidth, this.buckets)).add(time, score);
+            if (time > this.latestTime) {
+                this.latestTime = time;
+                if (time >= this.nextExpiry) {
+                    this.expire(time);
+                    this.nextExpiry = time + this.bucketWidth * this.buckets;
+                }
+            }
+        }
+
+        /**
+         * Adds the buckets of another state into this state.
+         *
+         * @param other the state to merge into this state
+         */
+        private void merge(final State<ITEM> other) {
+            other.rings.forEach((item, ring) ->
+                    this.rings.computeIfAbsent(item, i -> new TimeBucketRing(this.bucketWidth, this.buckets)).merge(ring));
+            this.latestTime = Math.max(this.latestTime, other.latestTime);
+        }
+
+        /**
+         * Removes every item whose buckets have all expired.
+         *
+         * @param now the current time
+         */
+        public void expire(final long now) {
+            this.rings.values().removeIf(ring -> ring.isExpired(now));
+        }
+
+        /**
+         * Gets the latest time of any entry within the tally.
+         *
+         * @return the latest time of any entry, or {@link Long#MIN_VALUE} if
+         *         there are no entries
+         */
+        public long getLatestTime() {
+            return this.latestTime;
+        }
+
+        /**
+         * Gets the score of an item within a window of time ending now.
+         *
+         * @param item the item whose score is read
+         * @param now the current time
+         * @param window the span of time to sum over
+         * @return the score of the item within the window
+         * @see TimeBucketRing#sum(long, long)
+         */
+        public long getScore(final ITEM item, final long now, final long window) {
+            final TimeBucketRing ring = this.rings.get(item);
+            return ring != null ? ring.sum(now, window) : 0;
+        }
+
+        /**
+         * Gets the score of an item decayed exponentially by age.
+         *
+         * @param item the item whose score is read
+         * @param now the current time
+         * @param halfLife the span of time over which a vote loses half its weight
+         * @return the decayed score of the item
+         * @throws IllegalArgumentException if the half-life is not positive
+         * @see TimeBucketRing#decayed(long, double)
+         */
+        public double getHotScore(final ITEM item, final long now, final double halfLife) {
+            if (!(halfLife > 0.0)) {
+                throw new IllegalArgumentException("The half-life must be positive");
+            }
+            final TimeBucketRing ring = this.rings.get(item);
+            return ring != null ? ring.decayed(now, halfLife) : 0;
+        }
+
+        /**
+         * Gets the score of every item within a window of time ending now.
+         * Items without any score within the window are omitted.
+         *
+         * @param now the current time
+         * @param window the span of time to sum over
+         * @return a new map of each item to its score within the window
+         */
+        public Map<ITEM, Long> getScores(final long now, final long window) {
+            final Map<ITEM, Long> scores = new HashMap<>();
+            this.rings.forEach((item, ring) -> {
+                final long score = ring.sum(now, window);
+                if (score != 0) {
+                    scores.put(item, score);
+                }
+            });
+            return scores;
+        }
+
+        /**
+         * Gets the score of every item decayed exponentially by age. Items
+         * without any decayed score are omitted.
+         *
+         * @param now the current time
+         * @param halfLife the span of time over which a vote loses half its weight
+         * @return a new map of each item to its decayed score
+         * @throws IllegalArgumentException if the half-life is not positive
+         */
+        public Map<ITEM, Double> getHotScores(final long now, final double halfLife) {
+            if (!(halfLife > 0.0)) {
+                throw new IllegalArgumentException("The half-life must be positive");
+            }
+            final Map<ITEM, Double> scores = new HashMap<>();
+            this.rings.forEach((item, ring) -> {
+                final double score = ring.decayed(now, halfLife);
+                if (score != 0) {
+                    scores.put(item, score);
+                }
+            });
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An abstract manager that takes some entry and puts it in some location
+ * without blocking the calling thread.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <RESPONSE> the type of the response to the action
+ * @see AbstractInputManager
+ * @since 1.1.0
+ */
+public interface AbstractAsyncInputManager<ENTRY, RESPONSE> {
+
+    /**
+     * Puts an entry into the manager.
+     *
+     * @implNote
+     * The location of where the entry is stored is not specified and up to
+     * the user to implement.
+     *
+     * @param entry the data entry to put into the manager
+     * @return a stage completed with the response created as a result of the
+     *         operation
+     */
+    CompletionStage<RESPONSE> putEntry(final ENTRY entry);
+}
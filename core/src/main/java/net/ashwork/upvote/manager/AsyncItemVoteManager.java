@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+import net.ashwork.upvote.domain.VoteEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An {@link AsyncVoteManager} which can also tally the votes on specific items
+ * without tallying every collected vote.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ *
+ * @see VoteEntry
+ * @see ItemVoteManager
+ * @since 1.1.0
+ */
+public interface AsyncItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> extends AsyncVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    /**
+     * Tallies the result of the collected votes on a single item.
+     *
+     * @implSpec
+     * The default implementation tallies a collection containing only the
+     * item.
+     *
+     * @param item the item whose votes are tallied
+     * @return a stage completed with the response created as a result of the
+     *         tally
+     * @see #tally(Collection)
+     */
+    default CompletionStage<RESPONSE> tally(final ITEM item) {
+        return this.tally(Collections.singleton(item));
+    }
+
+    /**
+     * Tallies the result of the collected votes on the specified items. Only
+     * the votes on the items are tallied.
+     *
+     * @param items the items whose votes are tallied
+     * @return a stage completed with the response created as a result of the
+     *         tally
+     */
+    CompletionStage<RESPONSE> tally(final Collection<ITEM> items);
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A manager which can put many entries at once, such as when backfilling
+ * historical data. Entries are put in chunks, and a chunk which fails does
+ * not stop the remaining chunks from being put.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @since 1.1.0
+ */
+public interface BulkInputManager<ENTRY> {
+
+    /**
+     * The number of entries put at a time when no chunk size is specified.
+     */
+    int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Puts every entry of an iterator into the manager, blocking until all
+     * chunks have been attempted.
+     *
+     * @apiNote
+     * The iterator is only read from the calling thread. The listener may be
+     * called from other threads, possibly at the same time.
+     *
+     * @param entries the entries to put into the manager
+     * @param chunkSize the number of entries put at a time
+     * @param listener the listener notified as each chunk is put or fails
+     * @return the result of putting the entries
+     * @throws IllegalArgumentException if the chunk size is not positive
+     */
+    ImportResult putEntries(final Iterator<? extends ENTRY> entries, final int chunkSize, final ImportListener<ENTRY> listener);
+
+    /**
+     * Puts every entry of a stream into the manager, blocking until all chunks
+     * have been attempted. The stream is closed afterwards.
+     *
+     * @param entries the entries to put into the manager
+     * @param chunkSize the number of entries put at a time
+     * @param listener the listener notified as each chunk is put or fails
+     * @return the result of putting the entries
+     * @throws IllegalArgumentException if the chunk size is not positive
+     * @see #putEntries(Iterator, int, ImportListener)
+     */
+    default ImportResult putEntries(final Stream<? extends ENTRY> entries, final int chunkSize, final ImportListener<ENTRY> listener) {
+        try (final Stream<? extends ENTRY> stream = entries) {
+            return this.putEntries(stream.iterator(), chunkSize, listener);
+        }
+    }
+
+    /**
+     * Puts every entry of a stream into the manager using the
+     * {@linkplain #DEFAULT_CHUNK_SIZE default chunk size}.
+     *
+     * @param entries the entries to put into the manager
+     * @param listener the listener notified as each chunk is put or fails
+     * @return the result of putting the entries
+     * @see #putEntries(Stream, int, ImportListener)
+     */
+    default ImportResult putEntries(final Stream<? extends ENTRY> entries, final ImportListener<ENTRY> listener) {
+        return this.putEntries(entries, DEFAULT_CHUNK_SIZE, listener);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+import java.util.List;
+
+/**
+ * A listener notified of the progress of a
+ * {@linkplain BulkInputManager#putEntries(java.util.Iterator, int, ImportListener) bulk import}.
+ * Each chunk is reported exactly once, though not necessarily in order.
+ *
+ * @apiNote
+ * Chunks may be reported from multiple threads at once, so implementations
+ * must be thread-safe.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @since 1.1.0
+ */
+public interface ImportListener<ENTRY> {
+
+    /**
+     * Called when a chunk has been put successfully.
+     *
+     * @param offset the index of the first entry of the chunk within the import
+     * @param size the number of entries within the chunk
+     */
+    default void chunkImported(final long offset, final int size) {}
+
+    /**
+     * Called when a chunk could not be put. The remaining chunks are still
+     * attempted.
+     *
+     * @param offset the index of the first entry of the chunk within the import
+     * @param entries the entries of the chunk, such as to retry them later
+     * @param cause the throwable thrown while putting the chunk
+     */
+    default void chunkFailed(final long offset, final List<ENTRY> entries, final Throwable cause) {}
+
+    /**
+     * Gets a listener which ignores every chunk.
+     *
+     * @param <ENTRY> the type of the entry data
+     * @return a listener which does nothing
+     */
+    static <ENTRY> ImportListener<ENTRY> none() {
+        return new ImportListener<ENTRY>() {};
+    }
+}
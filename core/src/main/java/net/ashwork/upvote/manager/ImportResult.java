@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+/**
+ * The result of a {@linkplain BulkInputManager bulk import}.
+ *
+ * @since 1.1.0
+ */
+public final class ImportResult {
+
+    private final long imported;
+    private final long failed;
+    private final long failedChunks;
+    private final boolean interrupted;
+
+    /**
+     * A simple constructor.
+     *
+     * @param imported the number of entries put successfully
+     * @param failed the number of entries within chunks which failed
+     * @param failedChunks the number of chunks which failed
+     * @param interrupted whether the import was interrupted before every entry was read
+     */
+    public ImportResult(final long imported, final long failed, final long failedChunks, final boolean interrupted) {
+        this.imported = imported;
+        this.failed = failed;
+        this.failedChunks = failedChunks;
+        this.interrupted = interrupted;
+    }
+
+    /**
+     * Gets the number of entries put successfully.
+     *
+     * @return the number of entries put successfully
+     */
+    public long getImported() {
+        return this.imported;
+    }
+
+    /**
+     * Gets the number of entries within chunks which failed.
+     *
+     * @return the number of entries which were not put
+     */
+    public long getFailed() {
+        return this.failed;
+    }
+
+    /**
+     * Gets the number of chunks which failed.
+     *
+     * @return the number of chunks which failed
+     */
+    public long getFailedChunks() {
+        return this.failedChunks;
+    }
+
+    /**
+     * Gets whether the import was interrupted before every entry was read.
+     *
+     * @return {@code true} if some entries were never attempted
+     */
+    public boolean isInterrupted() {
+        return this.interrupted;
+    }
+
+    /**
+     * Gets whether every entry was put successfully.
+     *
+     * @return {@code true} if no chunk failed and the import was not interrupted
+     */
+    public boolean isComplete() {
+        return this.failedChunks == 0 && !this.interrupted;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{imported=" + this.imported + ", failed=" + this.failed + ", failedChunks=" + this.failedChunks + ", interrupted=" + this.interrupted + "}";
+    }
+}
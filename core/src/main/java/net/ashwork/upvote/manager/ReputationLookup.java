@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A lookup of the latest reputation of users.
+ *
+ * @param <USER> the type of the user
+ * @param <REPUTATION> the type of the reputation
+ * @see ReputationManager
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface ReputationLookup<USER, REPUTATION> {
+
+    /**
+     * Gets the latest reputation of a user.
+     *
+     * @param user the user whose reputation is being looked up
+     * @return the latest reputation of the user, or empty if the user has none
+     */
+    Optional<REPUTATION> getUserReputation(final USER user);
+
+    /**
+     * Gets the latest reputation of each of the specified users.
+     *
+     * @implSpec
+     * The default implementation looks up each user separately.
+     * Implementations which can look up many users at once should override
+     * this method.
+     *
+     * @param users the users whose reputations are being looked up
+     * @return a map of each user with a reputation to their latest reputation
+     */
+    default Map<USER, REPUTATION> getUserReputations(final Collection<USER> users) {
+        final Map<USER, REPUTATION> reputations = new HashMap<>(users.size());
+        for (final USER user : users) {
+            this.getUserReputation(user).ifPresent(reputation -> reputations.put(user, reputation));
+        }
+        return reputations;
+    }
+}
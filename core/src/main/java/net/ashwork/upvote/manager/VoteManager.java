@@ -38,6 +38,7 @@ import net.ashwork.upvote.domain.VoteEntry;
  * @param <RESPONSE> the type of the response to the actions
  *
  * @see VoteEntry
+ * @see ItemVoteManager
  * @since 1.0.0
  */
 public interface VoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> extends AbstractInputManager<ENTRY, RESPONSE> {
@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import net.ashwork.upvote.manager.AbstractInputManager;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link AbstractInputManager} which only passes an entry to another
+ * manager if it is admitted, shedding load before it reaches the underlying
+ * store.
+ *
+ * <p>An entry is checked in order against the rate limit of its key, the
+ * global rate limit, and the concurrency limit. An entry failing any check is
+ * rejected immediately with a response created from the {@link Rejection}
+ * without calling the manager. Each check is optional.
+ *
+ * <p>The latency and success of each admitted call is fed back into the
+ * {@link ConcurrencyLimit}, so the number of calls in flight shrinks as the
+ * manager slows down.
+ *
+ * <p>An entry is only charged against a rate limit if it is admitted. The
+ * permits taken from the rate limits by earlier checks are refunded when a
+ * later check rejects the entry, so calls shed by the concurrency limit do
+ * not use up the rate of their key. An admitted entry stays charged however
+ * the manager responds.
+ *
+ * @apiNote
+ * Every check is lock-free. A permit is only refunded after it was taken, so
+ * a concurrent entry may briefly see the permit as taken and be rejected.
+ *
+ * @param <ENTRY> the type of the entry
+ * @param <RESPONSE> the type of the response to the action
+ * @since 1.1.0
+ */
+public class AdmissionGuard<ENTRY, RESPONSE> implements AbstractInputManager<ENTRY, RESPONSE> {
+
+    private final AbstractInputManager<ENTRY, RESPONSE> manager;
+    private final ToLongFunction<ENTRY> key;
+    private final KeyedRateLimiter keyLimiter;
+    private final RateLimiter globalLimiter;
+    private final ConcurrencyLimit concurrencyLimit;
+    private final Predicate<RESPONSE> succeeded;
+    private final Function<Rejection, RESPONSE> rejected;
+
+    /**
+     * A simple constructor.
+     *
+     * @param manager the manager to pass every admitted entry to
+     * @param key a function to get the key an entry is rate limited by, such as its user
+     * @param keyLimiter the rate limit of each key, or {@code null} if keys are not limited
+     * @param globalLimiter the rate limit of every entry, or {@code null} if entries are not limited
+     * @param concurrencyLimit the limit of calls in flight, or {@code null} if calls are not limited
+     * @param succeeded a predicate to test whether a response is from a successful action
+     * @param rejected a function to convert the reason an entry was rejected to a response
+     */
+    public AdmissionGuard(final AbstractInputManager<ENTRY, RESPONSE> manager, final ToLongFunction<ENTRY> key, final KeyedRateLimiter keyLimiter, final RateLimiter globalLimiter, final ConcurrencyLimit concurrencyLimit, final Predicate<RESPONSE> succeeded, final Function<Rejection, RESPONSE> rejected) {
+        this.manager = manager;
+        this.key = key;
+        this.keyLimiter = keyLimiter;
+        this.globalLimiter = globalLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.succeeded = succeeded;
+        this.rejected = rejected;
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final KeyedRateLimiter keyLimiter = this.keyLimiter;
+        final long key = keyLimiter == null ? 0L : this.key.applyAsLong(entry);
+        if (keyLimiter != null && !keyLimiter.tryAcquire(key)) {
+            return this.rejected.apply(Rejection.KEY_RATE);
+        }
+        final RateLimiter globalLimiter = this.globalLimiter;
+        if (globalLimiter != null && !globalLimiter.tryAcquire()) {
+            if (keyLimiter != null) {
+                keyLimiter.refund(key);
+            }
+            return this.rejected.apply(Rejection.GLOBAL_RATE);
+        }
+        final ConcurrencyLimit limit = this.concurrencyLimit;
+        if (limit == null) {
+            return this.manager.putEntry(entry);
+        }
+        if (!limit.tryAcquire()) {
+            if (globalLimiter != null) {
+                globalLimiter.refund();
+            }
+            if (keyLimiter != null) {
+                keyLimiter.refund(key);
+            }
+            return this.rejected.apply(Rejection.CONCURRENCY);
+        }
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            final RESPONSE response = this.manager.putEntry(entry);
+            success = this.succeeded.test(response);
+            return response;
+        } finally {
+            limit.release(System.nanoTime() - start, success);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free limit on the number of calls in flight which adapts to the
+ * observed latency of those calls.
+ *
+ * <p>The limit follows additive increase, multiplicative decrease. A call
+ * which succeeds within the target latency while at least half of the limit
+ * is in use raises the limit by one. A call which fails or exceeds the target
+ * latency multiplies the limit by the backoff ratio. The limit always stays
+ * between its minimum and maximum.
+ *
+ * @since 1.1.0
+ */
+public final class ConcurrencyLimit {
+
+    private final int minimum;
+    private final int maximum;
+    private final long target;
+    private final double backoff;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight;
+
+    /**
+     * A simple constructor.
+     *
+     * @param initial the initial limit
+     * @param minimum the smallest the limit can shrink to
+     * @param maximum the largest the limit can grow to
+     * @param target the latency above which the limit shrinks
+     * @param unit the unit of the target latency
+     * @param backoff the ratio the limit is multiplied by when it shrinks
+     * @throws IllegalArgumentException if the limits are not positive and
+     *                                  ordered, the target latency is not
+     *                                  positive, or the backoff ratio is not
+     *                                  between zero and one
+     */
+    public ConcurrencyLimit(final int initial, final int minimum, final int maximum, final long target, final TimeUnit unit, final double backoff) {
+        if (minimum <= 0 || minimum > initial || initial > maximum) {
+            throw new IllegalArgumentException("The limits must be positive and the initial limit must be between the minimum and maximum");
+        }
+        if (target <= 0) {
+            throw new IllegalArgumentException("The target latency must be positive");
+        }
+        if (!(backoff > 0.0 && backoff < 1.0)) {
+            throw new IllegalArgumentException("The backoff ratio must be between zero and one");
+        }
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.target = unit.toNanos(target);
+        this.backoff = backoff;
+        this.limit = new AtomicInteger(initial);
+        this.inFlight = new AtomicInteger();
+    }
+
+    /**
+     * Starts a call if the limit has not been reached.
+     *
+     * @return {@code true} if the call may start, {@code false} otherwise
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = this.inFlight.get();
+            if (current >= this.limit.get()) {
+                return false;
+            }
+        } while (!this.inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Finishes a call started by {@link #tryAcquire()} and adjusts the limit.
+     *
+     * @param latency the time the call took in nanoseconds
+     * @param success whether the call succeeded
+     */
+    public void release(final long latency, final boolean success) {
+        final int current = this.inFlight.getAndDecrement();
+        if (!success || latency > this.target) {
+            this.limit.updateAndGet(limit -> Math.max(this.minimum, (int) (limit * this.backoff)));
+        } else {
+            this.limit.updateAndGet(limit -> current * 2 >= limit ? Math.min(this.maximum, limit + 1) : limit);
+        }
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return the maximum number of calls currently allowed in flight
+     */
+    public int getLimit() {
+        return this.limit.get();
+    }
+
+    /**
+     * Gets the number of calls in flight.
+     *
+     * @return the number of calls in flight
+     */
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+}
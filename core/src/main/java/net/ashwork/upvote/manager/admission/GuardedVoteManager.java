@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.manager.VoteManager;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link VoteManager} which only casts a vote if it is admitted by an
+ * {@link AdmissionGuard}. Tallies are passed to the manager unguarded.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ * @see GuardedItemVoteManager
+ * @since 1.1.0
+ */
+public class GuardedVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> extends AdmissionGuard<ENTRY, RESPONSE> implements VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager;
+
+    /**
+     * A simple constructor.
+     *
+     * @param manager the manager to pass every admitted vote and tally to
+     * @param user a function to get the key a vote is rate limited by from its user
+     * @param userLimiter the rate limit of each user, or {@code null} if users are not limited
+     * @param globalLimiter the rate limit of every vote, or {@code null} if votes are not limited
+     * @param concurrencyLimit the limit of votes in flight, or {@code null} if votes are not limited
+     * @param succeeded a predicate to test whether a response is from a successfully cast vote
+     * @param rejected a function to convert the reason a vote was rejected to a response
+     */
+    public GuardedVoteManager(final VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager, final ToLongFunction<ENTRY> user, final KeyedRateLimiter userLimiter, final RateLimiter globalLimiter, final ConcurrencyLimit concurrencyLimit, final Predicate<RESPONSE> succeeded, final Function<Rejection, RESPONSE> rejected) {
+        super(manager, user, userLimiter, globalLimiter, concurrencyLimit, succeeded, rejected);
+        this.manager = manager;
+    }
+
+    @Override
+    public RESPONSE tally() {
+        return this.manager.tally();
+    }
+}
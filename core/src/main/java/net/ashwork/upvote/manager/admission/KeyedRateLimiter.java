@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import net.ashwork.upvote.util.HashHelper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free set of token buckets, one for each key, such as a user. Each
+ * bucket behaves the same as a {@link RateLimiter}.
+ *
+ * <p>The buckets are held within a fixed number of slots indexed by the hash
+ * of the key, so the memory used does not grow with the number of keys and
+ * taking a permit never allocates.
+ *
+ * @apiNote
+ * Keys which hash to the same slot share a bucket, so a key may be limited
+ * by another. The number of slots should be a good deal larger than the
+ * number of keys expected to be active at once.
+ *
+ * @since 1.1.0
+ */
+public final class KeyedRateLimiter {
+
+    /**
+     * The default number of slots holding buckets.
+     */
+    public static final int DEFAULT_SLOTS = 1 << 16;
+
+    private final long interval;
+    private final long tolerance;
+    private final long origin;
+    private final int mask;
+    private final AtomicLongArray arrivals;
+
+    /**
+     * Constructs a limiter using the {@linkplain #DEFAULT_SLOTS default number
+     * of slots}.
+     *
+     * @param permits the number of permits refilled every period
+     * @param period the time in which the permits are refilled
+     * @param unit the unit of the period
+     * @param burst the maximum number of permits which can be taken at once
+     * @throws IllegalArgumentException if the permits, period, or burst is not
+     *                                  positive, or a permit would be refilled
+     *                                  in under a nanosecond
+     */
+    public KeyedRateLimiter(final long permits, final long period, final TimeUnit unit, final int burst) {
+        this(DEFAULT_SLOTS, permits, period, unit, burst);
+    }
+
+    /**
+     * A simple constructor.
+     *
+     * @param slots the number of slots holding buckets, rounded up to a power of two
+     * @param permits the number of permits refilled every period
+     * @param period the time in which the permits are refilled
+     * @param unit the unit of the period
+     * @param burst the maximum number of permits which can be taken at once
+     * @throws IllegalArgumentException if the permits, period, or burst is not
+     *                                  positive, or a permit would be refilled
+     *                                  in under a nanosecond
+     */
+    public KeyedRateLimiter(final int slots, final long permits, final long period, final TimeUnit unit, final int burst) {
+        this.interval = RateLimiter.interval(permits, period, unit, burst);
+        this.tolerance = this.interval * burst;
+        this.origin = System.nanoTime();
+        final int capacity = HashHelper.nextPowerOfTwo(slots);
+        this.mask = capacity - 1;
+        this.arrivals = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Takes a permit from the bucket of a key if one is available.
+     *
+     * @param key the key whose bucket a permit is taken from
+     * @return {@code true} if a permit was taken, {@code false} otherwise
+     */
+    public boolean tryAcquire(final long key) {
+        final int slot = (int) HashHelper.mix(key) & this.mask;
+        final long now = System.nanoTime() - this.origin;
+        long arrival;
+        long next;
+        do {
+            arrival = this.arrivals.get(slot);
+            next = Math.max(arrival, now) + this.interval;
+            if (next - now > this.tolerance) {
+                return false;
+            }
+        } while (!this.arrivals.compareAndSet(slot, arrival, next));
+        return true;
+    }
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire(long)} which went unused,
+     * such as when the call it was taken for was rejected by another check.
+     *
+     * @implNote
+     * The theoretical arrival time of the bucket is moved back by one
+     * interval, in the same manner as {@link RateLimiter#refund()}.
+     *
+     * @param key the key whose bucket the permit was taken from
+     */
+    public void refund(final long key) {
+        this.arrivals.addAndGet((int) HashHelper.mix(key) & this.mask, -this.interval);
+    }
+}
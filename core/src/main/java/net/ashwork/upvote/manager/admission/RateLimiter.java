@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket. Permits are refilled at a fixed rate up to some
+ * burst, and a permit can be taken without waiting if one is available.
+ *
+ * <p>The bucket is implemented with the generic cell rate algorithm, which
+ * holds a single theoretical arrival time instead of a token count. Taking a
+ * permit is a single compare-and-set in the uncontended case.
+ *
+ * @see KeyedRateLimiter
+ * @since 1.1.0
+ */
+public final class RateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final long origin;
+    private final AtomicLong arrival;
+
+    /**
+     * A simple constructor.
+     *
+     * @param permits the number of permits refilled every period
+     * @param period the time in which the permits are refilled
+     * @param unit the unit of the period
+     * @param burst the maximum number of permits which can be taken at once
+     * @throws IllegalArgumentException if the permits, period, or burst is not
+     *                                  positive, or a permit would be refilled
+     *                                  in under a nanosecond
+     */
+    public RateLimiter(final long permits, final long period, final TimeUnit unit, final int burst) {
+        this.interval = interval(permits, period, unit, burst);
+        this.tolerance = this.interval * burst;
+        this.origin = System.nanoTime();
+        this.arrival = new AtomicLong();
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return {@code true} if a permit was taken, {@code false} otherwise
+     */
+    public boolean tryAcquire() {
+        final long now = System.nanoTime() - this.origin;
+        long arrival;
+        long next;
+        do {
+            arrival = this.arrival.get();
+            next = Math.max(arrival, now) + this.interval;
+            if (next - now > this.tolerance) {
+                return false;
+            }
+        } while (!this.arrival.compareAndSet(arrival, next));
+        return true;
+    }
+
+    /**
+     * Returns a permit taken by {@link #tryAcquire()} which went unused, such
+     * as when the call it was taken for was rejected by another check.
+     *
+     * @implNote
+     * The theoretical arrival time is moved back by one interval. An arrival
+     * time in the past is treated as the present, so a refund never allows
+     * more than the burst to be taken at once.
+     */
+    public void refund() {
+        this.arrival.addAndGet(-this.interval);
+    }
+
+    /**
+     * Computes the time between refilled permits.
+     *
+     * @param permits the number of permits refilled every period
+     * @param period the time in which the permits are refilled
+     * @param unit the unit of the period
+     * @param burst the maximum number of permits which can be taken at once
+     * @return the time between refilled permits in nanoseconds
+     * @throws IllegalArgumentException if the permits, period, or burst is not
+     *                                  positive, or a permit would be refilled
+     *                                  in under a nanosecond
+     */
+    static long interval(final long permits, final long period, final TimeUnit unit, final int burst) {
+        if (permits <= 0 || period <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("The permits, period, and burst must be positive");
+        }
+        final long interval = unit.toNanos(period) / permits;
+        if (interval <= 0) {
+            throw new IllegalArgumentException("A permit cannot be refilled in under a nanosecond");
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A ranking of items by score which is kept up to date as scores change.
+ *
+ * <p>Every item is held within a skip list ordered by score, so updating the
+ * score of an item costs {@code O(log n)} and reading the top {@code k} items
+ * costs {@code O(log n + k)}. Items with the same score are ranked by the
+ * order they were first scored in.
+ *
+ * @apiNote
+ * Updates to the same item are atomic, but reads are weakly consistent: an
+ * item whose score is being updated at the same time as a read may be missing
+ * from that read.
+ *
+ * @param <ITEM> the type of the item
+ * @since 1.1.0
+ */
+public class Leaderboard<ITEM> {
+
+    private static final Comparator<Ranking<?>> ORDER = Comparator.<Ranking<?>>comparingLong(Ranking::getScore).reversed()
+            .thenComparingLong(ranking -> ranking.sequence);
+
+    private final ConcurrentMap<ITEM, Ranking<ITEM>> rankings;
+    private final NavigableSet<Ranking<ITEM>> ranked;
+    private final AtomicLong sequence;
+
+    /**
+     * Constructs an empty leaderboard.
+     */
+    public Leaderboard() {
+        this.rankings = new ConcurrentHashMap<>();
+        this.ranked = new ConcurrentSkipListSet<>(ORDER);
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Adds to the score of an item. An item which has not been scored before
+     * starts at zero.
+     *
+     * @param item the item being scored
+     * @param delta the amount to add to the score of the item
+     * @return the updated score of the item
+     */
+    public long add(final ITEM item, final long delta) {
+        return this.rankings.compute(item, (key, current) -> this.rerank(key, current, current != null ? current.score + delta : delta)).score;
+    }
+
+    /**
+     * Sets the score of an item, such as when seeding the leaderboard from a
+     * tally.
+     *
+     * @param item the item being scored
+     * @param score the score of the item
+     */
+    public void set(final ITEM item, final long score) {
+        this.rankings.compute(item, (key, current) -> this.rerank(key, current, score));
+    }
+
+    /**
+     * Gets the score of an item.
+     *
+     * @param item the item whose score is read
+     * @return the score of the item, or zero if it has not been scored
+     */
+    public long getScore(final ITEM item) {
+        final Ranking<ITEM> ranking = this.rankings.get(item);
+        return ranking != null ? ranking.score : 0;
+    }
+
+    /**
+     * Gets the number of items which have been scored.
+     *
+     * @return the number of scored items
+     */
+    public int size() {
+        return this.rankings.size();
+    }
+
+    /**
+     * Gets the items with the highest scores, highest first.
+     *
+     * @param k the maximum number of items to get
+     * @return a new list of at most {@code k} of the highest ranked items
+     */
+    public List<Ranking<ITEM>> top(final int k) {
+        final List<Ranking<ITEM>> top = new ArrayList<>(Math.max(0, Math.min(k, 64)));
+        final Iterator<Ranking<ITEM>> iterator = this.ranked.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Replaces the ranking of an item with a new score.
+     *
+     * @apiNote
+     * This is only called while the map holds the lock of the item, so the
+     * skip list never holds two rankings for the same item.
+     *
+     * @param item the item being scored
+     * @param current the current ranking of the item, or {@code null}
+     * @param score the new score of the item
+     * @return the new ranking of the item
+     */
+    private Ranking<ITEM> rerank(final ITEM item, final Ranking<ITEM> current, final long score) {
+        final Ranking<ITEM> next;
+        if (current != null) {
+            this.ranked.remove(current);
+            next = new Ranking<>(item, score, current.sequence);
+        } else {
+            next = new Ranking<>(item, score, this.sequence.getAndIncrement());
+        }
+        this.ranked.add(next);
+        return next;
+    }
+
+    /**
+     * The score of an item at some point in time.
+     *
+     * @param <ITEM> the type of the item
+     */
+    public static final class Ranking<ITEM> {
+
+        private final ITEM item;
+        private final long score;
+        private final long sequence;
+
+        /**
+         * A simple constructor.
+         *
+         * @param item the item being scored
+         * @param score the score of the item
+         * @param sequence the order the item was first scored in
+         */
+        private Ranking(final ITEM item, final long score, final long sequence) {
+            this.item = item;
+            this.score = score;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the item being scored.
+         *
+         * @return the item being scored
+         */
+        public ITEM getItem() {
+            return this.item;
+        }
+
+        /**
+         * Gets the score of the item.
+         *
+         * @return the score of the item
+         */
+        public long getScore() {
+            return this.score;
+        }
+
+        @Override
+        public String toString() {
+            return "Ranking{item=" + this.item + ", score=" + this.score + '}';
+        }
+    }
+}
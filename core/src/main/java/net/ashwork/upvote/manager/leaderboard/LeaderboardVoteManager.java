@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.leaderboard;
+
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.manager.VoteManager;
+
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link VoteManager} which passes every action to another manager and
+ * keeps a {@link Leaderboard} of the items updated with each successful vote.
+ *
+ * @apiNote
+ * The leaderboard only sees votes cast through this manager. Existing scores
+ * should be seeded using {@link Leaderboard#set(Object, long)}.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ * @see LeaderboardItemVoteManager
+ * @since 1.1.0
+ */
+public class LeaderboardVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> implements VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager;
+    private final Leaderboard<ITEM> leaderboard;
+    private final ToLongFunction<ENTRY> scorer;
+    private final Predicate<RESPONSE> succeeded;
+
+    /**
+     * A simple constructor.
+     *
+     * @param manager the manager to pass every action to
+     * @param leaderboard the leaderboard to update
+     * @param scorer a function to convert a vote entry to the amount it adds to the score of its item
+     * @param succeeded a predicate to test whether a response is from a successfully cast vote
+     */
+    public LeaderboardVoteManager(final VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager, final Leaderboard<ITEM> leaderboard, final ToLongFunction<ENTRY> scorer, final Predicate<RESPONSE> succeeded) {
+        this.manager = manager;
+        this.leaderboard = leaderboard;
+        this.scorer = scorer;
+        this.succeeded = succeeded;
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final RESPONSE response = this.manager.putEntry(entry);
+        if (this.succeeded.test(response)) {
+            this.leaderboard.add(entry.getItem(), this.scorer.applyAsLong(entry));
+        }
+        return response;
+    }
+
+    @Override
+    public RESPONSE tally() {
+        return this.manager.tally();
+    }
+
+    /**
+     * Gets the leaderboard updated by this manager.
+     *
+     * @return the leaderboard of the items
+     */
+    public Leaderboard<ITEM> getLeaderboard() {
+        return this.leaderboard;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.memory;
+
+import net.ashwork.upvote.domain.ReputationEntry;
+import net.ashwork.upvote.manager.ReputationLookup;
+import net.ashwork.upvote.manager.ReputationManager;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link ReputationManager} which keeps the latest
+ * reputation of each user in memory.
+ *
+ * @param <USER> the type of the user
+ * @param <REPUTATION> the type of the reputation
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the reputation
+ * @param <RESPONSE> the type of the response to the action
+ * @since 1.1.0
+ */
+public class InMemoryReputationManager<USER, REPUTATION, TIME, ENTRY extends ReputationEntry<USER, REPUTATION, TIME>, RESPONSE> implements ReputationManager<USER, REPUTATION, TIME, ENTRY, RESPONSE>, ReputationLookup<USER, REPUTATION> {
+
+    private final ConcurrentMap<USER, ENTRY> latest;
+    private final Comparator<? super TIME> timeOrder;
+    private final Supplier<RESPONSE> putSuccess;
+
+    /**
+     * A simple constructor.
+     *
+     * @param timeOrder a comparator which orders the times of the entries
+     * @param putSuccess a supplied response for a successfully set reputation
+     */
+    public InMemoryReputationManager(final Comparator<? super TIME> timeOrder, final Supplier<RESPONSE> putSuccess) {
+        this.latest = new ConcurrentHashMap<>();
+        this.timeOrder = timeOrder;
+        this.putSuccess = putSuccess;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * An entry older than the current reputation of the user is ignored.
+     */
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        this.latest.merge(entry.getUser(), entry, (current, next) ->
+                this.timeOrder.compare(next.getTime(), current.getTime()) >= 0 ? next : current);
+        return this.putSuccess.get();
+    }
+
+    @Override
+    public Optional<REPUTATION> getUserReputation(final USER user) {
+        return Optional.ofNullable(this.latest.get(user)).map(ReputationEntry::getReputation);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.memory;
+
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.manager.ItemVoteManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * An implementation of {@link ItemVoteManager} which keeps a running score for
+ * each item in memory.
+ *
+ * <p>Each item's score is held within a {@link LongAdder}, so concurrent votes
+ * on the same item are spread across multiple cells instead of contending on
+ * a single counter. A tally reads each score without locking, so it does not
+ * block votes being cast at the same time.
+ *
+ * @apiNote
+ * A tally is a snapshot of each item's score. Votes cast while the tally is
+ * running may or may not be reflected within it.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class InMemoryVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> implements ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final ConcurrentMap<ITEM, LongAdder> scores;
+    private final ToLongFunction<ENTRY> scorer;
+    private final Supplier<RESPONSE> putSuccess;
+    private final Function<Map<ITEM, Long>, RESPONSE> tallyResponse;
+
+    /**
+     * A simple constructor.
+     *
+     * @param scorer a function to convert a vote entry to the amount it adds to the score of its item
+     * @param putSuccess a supplied response for a successfully cast vote
+     * @param tallyResponse a function to convert the score of each item to a response
+     */
+    public InMemoryVoteManager(final ToLongFunction<ENTRY> scorer, final Supplier<RESPONSE> putSuccess, final Function<Map<ITEM, Long>, RESPONSE> tallyResponse) {
+        this.scores = new ConcurrentHashMap<>();
+        this.scorer = scorer;
+        this.putSuccess = putSuccess;
+        this.tallyResponse = tallyResponse;
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        this.score(entry.getItem()).add(this.scorer.applyAsLong(entry));
+        return this.putSuccess.get();
+    }
+
+    @Override
+    public RESPONSE tally() {
+        final Map<ITEM, Long> snapshot = new HashMap<>(this.scores.size());
+        this.scores.forEach((item, score) -> snapshot.put(item, score.sum()));
+        return this.tallyResponse.apply(Collections.unmodifiableMap(snapshot));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Only the scores of the items are read. Items without any votes are not
+     * present within the map passed to the response function.
+     */
+    @Override
+    public RESPONSE tally(final Collection<ITEM> items) {
+        final Map<ITEM, Long> snapshot = new HashMap<>(items.size());
+        for (final ITEM item : items) {
+            final LongAdder score = this.scores.get(item);
+            if (score != null) {
+                snapshot.put(item, score.sum());
+            }
+        }
+        return this.tallyResponse.apply(Collections.unmodifiableMap(snapshot));
+    }
+
+    /**
+     * Gets the score of an item, creating it if it does not exist.
+     *
+     * @implNote
+     * The score is looked up before computing it as
+     * {@link ConcurrentHashMap#computeIfAbsent(Object, Function)} may lock the
+     * bin of an existing item.
+     *
+     * @param item the item being voted on
+     * @return the score of the item
+     */
+    private LongAdder score(final ITEM item) {
+        final LongAdder score = this.scores.get(item);
+        return score != null ? score : this.scores.computeIfAbsent(item, i -> new LongAdder());
+    }
+}
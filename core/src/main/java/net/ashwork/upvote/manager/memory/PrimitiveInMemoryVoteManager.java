@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.memory;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.manager.ItemVoteManager;
+import net.ashwork.upvote.util.HashHelper;
+import net.ashwork.upvote.util.LongLongHashMap;
+import net.ashwork.upvote.util.LongPairIntMap;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link ItemVoteManager} which sums the votes of each item
+ * in memory without boxing any of the values.
+ *
+ * <p>Items are split across a number of stripes, each holding the scores of
+ * its items within a {@link LongLongHashMap} guarded by its own lock. Votes on
+ * items in different stripes never contend with each other, and a tally only
+ * locks one stripe at a time.
+ *
+ * <p>If votes are deduplicated, the current vote of each user on each item is
+ * kept within a {@link LongPairIntMap} alongside the time it was cast. A vote
+ * then replaces the previous vote of the user on the item if it was cast
+ * later, and the score only changes by the difference. A delayed or retried
+ * vote cast before the current vote changes nothing. Votes cast at the same
+ * time keep the greater vote, so the score does not depend on the order the
+ * votes arrive in.
+ *
+ * @param <RESPONSE> the type of the response to the actions
+ * @see PrimitiveVoteEntry
+ * @since 1.1.0
+ */
+public class PrimitiveInMemoryVoteManager<RESPONSE> implements ItemVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, RESPONSE> {
+
+    private final LongLongHashMap[] stripes;
+    private final int mask;
+    private final LongPairIntMap votes;
+    private final Supplier<RESPONSE> putSuccess;
+    private final Function<LongLongHashMap, RESPONSE> tallyResponse;
+
+    /**
+     * A simple constructor.
+     *
+     * @param concurrency the expected number of threads casting votes at once
+     * @param putSuccess a supplied response for a successfully cast vote
+     * @param tallyResponse a function to convert the score of each item to a response
+     */
+    public PrimitiveInMemoryVoteManager(final int concurrency, final Supplier<RESPONSE> putSuccess, final Function<LongLongHashMap, RESPONSE> tallyResponse) {
+        this(concurrency, false, putSuccess, tallyResponse);
+    }
+
+    /**
+     * A constructor which specifies whether only the latest vote of each user
+     * on each item is counted.
+     *
+     * @param concurrency the expected number of threads casting votes at once
+     * @param deduplicate whether a vote replaces an earlier vote of the user on the item
+     * @param putSuccess a supplied response for a successfully cast vote
+     * @param tallyResponse a function to convert the score of each item to a response
+     */
+    public PrimitiveInMemoryVoteManager(final int concurrency, final boolean deduplicate, final Supplier<RESPONSE> putSuccess, final Function<LongLongHashMap, RESPONSE> tallyResponse) {
+        final int stripes = HashHelper.nextPowerOfTwo(concurrency);
+        this.stripes = new LongLongHashMap[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new LongLongHashMap();
+        }
+        this.mask = stripes - 1;
+        this.votes = deduplicate ? new LongPairIntMap(concurrency) : null;
+        this.putSuccess = putSuccess;
+        this.tallyResponse = tallyResponse;
+    }
+
+    @Override
+    public RESPONSE putEntry(final PrimitiveVoteEntry entry) {
+        return this.castVote(entry.getUserAsLong(), entry.getItemAsLong(), entry.getVoteAsInt(), entry.getTimeAsLong());
+    }
+
+    /**
+     * Casts a vote without creating an entry.
+     *
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     * @return the response created as a result of the operation
+     */
+    public RESPONSE castVote(final long user, final long item, final int vote, final long time) {
+        final int delta = this.votes != null ? vote - this.votes.putIfLater(user, item, vote, time, 0) : vote;
+        if (delta != 0) {
+            final LongLongHashMap stripe = this.stripe(item);
+            synchronized (stripe) {
+                stripe.addTo(item, delta);
+            }
+        }
+        return this.putSuccess.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The map passed to the response function is a copy owned by the caller.
+     */
+    @Override
+    public RESPONSE tally() {
+        final LongLongHashMap scores = new LongLongHashMap();
+        for (final LongLongHashMap stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.forEach(scores::put);
+            }
+        }
+        return this.tallyResponse.apply(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Only the scores of the items are read. Items without any votes are not
+     * present within the map passed to the response function.
+     */
+    @Override
+    public RESPONSE tally(final Collection<Long> items) {
+        final LongLongHashMap scores = new LongLongHashMap(items.size());
+        for (final Long boxed : items) {
+            final long item = boxed;
+            final LongLongHashMap stripe = this.stripe(item);
+            synchronized (stripe) {
+                if (stripe.containsKey(item)) {
+                    scores.put(item, stripe.get(item, 0));
+                }
+            }
+        }
+        return this.tallyResponse.apply(scores);
+    }
+
+    /**
+     * Gets the score of a single item without creating a response.
+     *
+     * @param item the item whose score is read
+     * @return the score of the item, or zero if it has no votes
+     */
+    public long getScore(final long item) {
+        final LongLongHashMap stripe = this.stripe(item);
+        synchronized (stripe) {
+            return stripe.get(item, 0);
+        }
+    }
+
+    /**
+     * Gets the stripe holding the score of an item.
+     *
+     * @implNote
+     * The upper bits of the hash are used so that the items within a stripe
+     * are still spread across its table, which uses the lower bits.
+     *
+     * @param item the item being voted on
+     * @return the stripe holding the score of the item
+     */
+    private LongLongHashMap stripe(final long item) {
+        return this.stripes[(int) (HashHelper.mix(item) >>> 32) & this.mask];
+    }
+}
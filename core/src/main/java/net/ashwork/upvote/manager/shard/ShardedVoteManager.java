@@ -0,0 +1,397 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.shard;
+
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.manager.ItemVoteManager;
+import net.ashwork.upvote.util.HashHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * An {@link ItemVoteManager} which spreads its items across multiple
+ * underlying managers, or shards. Each vote is routed to a single shard
+ * chosen by a consistent hash of its item, so every vote on an item is held
+ * within the same shard. Each shard must itself be an {@link ItemVoteManager}
+ * so that a tally of specific items can be passed to their owners.
+ *
+ * <p>A tally is scattered to every shard in parallel and the response of each
+ * shard is gathered and merged into a single response. A tally of specific
+ * items is only sent to the shards owning those items.
+ *
+ * <p>Each shard is placed at many points on a hash ring. When a shard is
+ * added, it only takes over the items hashed just before its points, so
+ * roughly {@code 1 / shards} of the items move regardless of how many shards
+ * exist. A {@link Migrator} can be supplied to move the votes on those items.
+ *
+ * @apiNote
+ * Votes and tallies wait while a shard is being added. Merging must not
+ * depend on the order of the shard responses.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class ShardedVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> implements ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    /**
+     * The default number of points each shard is placed at on the hash ring.
+     */
+    public static final int DEFAULT_REPLICAS = 128;
+
+    private final ToLongFunction<ITEM> hasher;
+    private final int replicas;
+    private final Function<List<RESPONSE>, RESPONSE> merge;
+    private final Function<Throwable, RESPONSE> throwingError;
+    private final Executor executor;
+    /*
+     * Votes and tallies hold the read lock while a shard being added holds the
+     * write lock, so no vote is routed to a shard whose items are migrating.
+     */
+    private final ReadWriteLock ringLock;
+    private volatile Ring<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> ring;
+
+    /**
+     * Constructs a manager whose items are hashed from their hash code and
+     * whose shards are placed at the {@linkplain #DEFAULT_REPLICAS default
+     * number of points}.
+     *
+     * @param shards the initial shards
+     * @param merge a function to merge the responses of each shard to a tally
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param executor the executor to run the tally of each shard on
+     */
+    public ShardedVoteManager(final List<? extends ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards, final Function<List<RESPONSE>, RESPONSE> merge, final Function<Throwable, RESPONSE> throwingError, final Executor executor) {
+        this(shards, item -> HashHelper.mix(item.hashCode()), DEFAULT_REPLICAS, merge, throwingError, executor);
+    }
+
+    /**
+     * A simple constructor.
+     *
+     * @param shards the initial shards
+     * @param hasher a function to hash an item, which must be stable across restarts
+     * @param replicas the number of points each shard is placed at on the hash ring
+     * @param merge a function to merge the responses of each shard to a tally
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param executor the executor to run the tally of each shard on
+     * @throws IllegalArgumentException if there are no shards or the number of
+     *                                  replicas is not positive
+     */
+    public ShardedVoteManager(final List<? extends ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards, final ToLongFunction<ITEM> hasher, final int replicas, final Function<List<RESPONSE>, RESPONSE> merge, final Function<Throwable, RESPONSE> throwingError, final Executor executor) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one shard");
+        }
+        if (replicas <= 0) {
+            throw new IllegalArgumentException("The number of replicas must be positive");
+        }
+        this.hasher = hasher;
+        this.replicas = replicas;
+        this.merge = merge;
+        this.throwingError = throwingError;
+        this.executor = executor;
+        this.ringLock = new ReentrantReadWriteLock();
+        this.ring = new Ring<>(new ArrayList<>(shards), replicas);
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final Lock lock = this.ringLock.readLock();
+        lock.lock();
+        try {
+            return this.ring.owner(this.hasher.applyAsLong(entry.getItem())).putEntry(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Every shard is tallied in parallel on the executor, and the responses
+     * are merged once all shards have responded.
+     */
+    @Override
+    public RESPONSE tally() {
+        final Lock lock = this.ringLock.readLock();
+        lock.lock();
+        try {
+            final List<ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards = this.ring.shards;
+            final List<CompletableFuture<RESPONSE>> tallies = new ArrayList<>(shards.size());
+            for (final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> shard : shards) {
+                tallies.add(CompletableFuture.supplyAsync(shard::tally, this.executor));
+            }
+            return this.gather(tallies);
+        } catch (final RejectedExecutionException e) {
+            return this.throwingError.apply(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public RESPONSE tally(final ITEM item) {
+        final Lock lock = this.ringLock.readLock();
+        lock.lock();
+        try {
+            return this.ring.owner(this.hasher.applyAsLong(item)).tally(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The items are grouped by the shard owning them, and only those shards
+     * are tallied.
+     */
+    @Override
+    public RESPONSE tally(final Collection<ITEM> items) {
+        final Lock lock = this.ringLock.readLock();
+        lock.lock();
+        try {
+            final Ring<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> ring = this.ring;
+            final List<List<ITEM>> grouped = new ArrayList<>(Collections.nCopies(ring.shards.size(), null));
+            for (final ITEM item : items) {
+                final int index = ring.ownerIndex(this.hasher.applyAsLong(item));
+                List<ITEM> group = grouped.get(index);
+                if (group == null) {
+                    grouped.set(index, group = new ArrayList<>());
+                }
+                group.add(item);
+            }
+            final List<CompletableFuture<RESPONSE>> tallies = new ArrayList<>();
+            for (int i = 0; i < grouped.size(); i++) {
+                final List<ITEM> group = grouped.get(i);
+                if (group != null) {
+                    final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> shard = ring.shards.get(i);
+                    tallies.add(CompletableFuture.supplyAsync(() -> shard.tally(group), this.executor));
+                }
+            }
+            return this.gather(tallies);
+        } catch (final RejectedExecutionException e) {
+            return this.throwingError.apply(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a shard to the ring without moving any votes.
+     *
+     * @apiNote
+     * Votes already held within other shards on the items the new shard takes
+     * over are no longer tallied. This should only be used when the shards
+     * are empty or the votes are moved separately.
+     *
+     * @param shard the shard to add
+     */
+    public void addShard(final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> shard) {
+        this.addShard(shard, null);
+    }
+
+    /**
+     * Adds a shard to the ring and moves the votes on the items it takes over
+     * from the existing shards.
+     *
+     * @apiNote
+     * Votes and tallies wait until every shard has been migrated. If migration
+     * throws, the shard is not added.
+     *
+     * @param shard the shard to add
+     * @param migrator the migrator moving the votes from each existing shard,
+     *                 or {@code null} if no votes should be moved
+     * @throws RuntimeException if the migrator throws
+     */
+    public void addShard(final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> shard, final Migrator<ITEM, ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> migrator) {
+        final Lock lock = this.ringLock.writeLock();
+        lock.lock();
+        try {
+            final Ring<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> previous = this.ring;
+            final List<ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards = new ArrayList<>(previous.shards);
+            shards.add(shard);
+            final Ring<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> next = new Ring<>(shards, this.replicas);
+            if (migrator != null) {
+                final int added = shards.size() - 1;
+                final Predicate<ITEM> moved = item -> next.ownerIndex(this.hasher.applyAsLong(item)) == added;
+                for (final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> source : previous.shards) {
+                    migrator.migrate(source, shard, moved);
+                }
+            }
+            this.ring = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the shard which owns an item.
+     *
+     * @param item the item to look up
+     * @return the shard owning the item
+     */
+    public ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> getShard(final ITEM item) {
+        return this.ring.owner(this.hasher.applyAsLong(item));
+    }
+
+    /**
+     * Gets the shards of this manager in the order they were added.
+     *
+     * @return an unmodifiable list of the shards
+     */
+    public List<ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> getShards() {
+        return this.ring.shards;
+    }
+
+    /**
+     * Waits for the tally of each shard and merges their responses.
+     *
+     * @param tallies the pending tally of each shard
+     * @return the merged response, or the response to the first thrown throwable
+     */
+    private RESPONSE gather(final List<CompletableFuture<RESPONSE>> tallies) {
+        final List<RESPONSE> responses = new ArrayList<>(tallies.size());
+        try {
+            for (final CompletableFuture<RESPONSE> tally : tallies) {
+                responses.add(tally.join());
+            }
+        } catch (final CompletionException e) {
+            return this.throwingError.apply(e.getCause() != null ? e.getCause() : e);
+        }
+        return this.merge.apply(responses);
+    }
+
+    /**
+     * A strategy which moves the votes on the items taken over by a new shard.
+     *
+     * @param <ITEM> the type of the item
+     * @param <SHARD> the type of the shard
+     */
+    @FunctionalInterface
+    public interface Migrator<ITEM, SHARD> {
+
+        /**
+         * Moves every vote on the matching items from one shard to another.
+         *
+         * @apiNote
+         * Votes should be copied to the target before being removed from the
+         * source so that a failed migration does not lose votes.
+         *
+         * @param source the existing shard to move votes from
+         * @param target the new shard to move votes to
+         * @param moved a predicate testing whether an item now belongs to the target
+         */
+        void migrate(final SHARD source, final SHARD target, final Predicate<ITEM> moved);
+    }
+
+    /**
+     * An immutable hash ring. Each shard is placed at a number of points, and
+     * a hash is owned by the shard at the first point at or after it, wrapping
+     * around to the first point.
+     */
+    private static final class Ring<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> {
+
+        private final List<ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards;
+        private final long[] points;
+        private final int[] owners;
+
+        /**
+         * A simple constructor.
+         *
+         * @param shards the shards placed on the ring
+         * @param replicas the number of points each shard is placed at
+         */
+        private Ring(final List<ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE>> shards, final int replicas) {
+            this.shards = Collections.unmodifiableList(shards);
+            final int size = shards.size() * replicas;
+            final long[] keys = new long[size];
+            for (int shard = 0, index = 0; shard < shards.size(); shard++) {
+                for (int replica = 0; replica < replicas; replica++, index++) {
+                    keys[index] = HashHelper.mix(shard, replica);
+                }
+            }
+            /*
+             * Points are placed by the index of their shard, so a shard keeps
+             * its points when later shards are added.
+             */
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (left, right) -> Long.compare(keys[left], keys[right]));
+            this.points = new long[size];
+            this.owners = new int[size];
+            for (int i = 0; i < size; i++) {
+                this.points[i] = keys[order[i]];
+                this.owners[i] = order[i] / replicas;
+            }
+        }
+
+        /**
+         * Gets the index of the shard which owns a hash.
+         *
+         * @param hash the hash to look up
+         * @return the index of the owning shard
+         */
+        private int ownerIndex(final long hash) {
+            int index = Arrays.binarySearch(this.points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return this.owners[index == this.points.length ? 0 : index];
+        }
+
+        /**
+         * Gets the shard which owns a hash.
+         *
+         * @param hash the hash to look up
+         * @return the owning shard
+         */
+        private ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> owner(final long hash) {
+            return this.shards.get(this.ownerIndex(hash));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import net.ashwork.upvote.manager.AbstractInputManager;
+
+import java.util.function.Predicate;
+
+/**
+ * An {@link AbstractInputManager} which passes every entry to another manager
+ * and records the metrics of each call as {@code <name>.putEntry}.
+ *
+ * <p>A call is counted as an error if the response is not successful or the
+ * manager throws.
+ *
+ * @param <ENTRY> the type of the entry
+ * @param <RESPONSE> the type of the response to the action
+ * @since 1.1.0
+ */
+public class InstrumentedInputManager<ENTRY, RESPONSE> implements AbstractInputManager<ENTRY, RESPONSE> {
+
+    private final AbstractInputManager<ENTRY, RESPONSE> manager;
+    protected final Predicate<RESPONSE> succeeded;
+    private final OperationMetrics put;
+
+    /**
+     * A simple constructor.
+     *
+     * @param manager the manager to pass every entry to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param succeeded a predicate to test whether a response is from a successful action
+     */
+    public InstrumentedInputManager(final AbstractInputManager<ENTRY, RESPONSE> manager, final MetricsRegistry registry, final String name, final Predicate<RESPONSE> succeeded) {
+        this.manager = manager;
+        this.succeeded = succeeded;
+        this.put = new OperationMetrics(registry, name + ".putEntry");
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final long start = this.put.start();
+        final RESPONSE response;
+        try {
+            response = this.manager.putEntry(entry);
+        } catch (final Throwable t) {
+            this.put.stop(start, false);
+            throw t;
+        }
+        this.put.stop(start, this.succeeded.test(response));
+        return response;
+    }
+}
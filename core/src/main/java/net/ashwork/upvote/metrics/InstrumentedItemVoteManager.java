@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.manager.ItemVoteManager;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * An {@link InstrumentedVoteManager} which also passes tallies of specific
+ * items to an {@link ItemVoteManager}. Tallies of specific items are recorded
+ * as {@code <name>.tallyItems} along with the number of items within
+ * {@code <name>.tallyItems.size}.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class InstrumentedItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, RESPONSE> extends InstrumentedVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> implements ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager;
+    private final OperationMetrics tallyItems;
+    private final Histogram items;
+
+    /**
+     * A simple constructor.
+     *
+     * @param manager the manager to pass every action to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param succeeded a predicate to test whether a response is from a successful action
+     */
+    public InstrumentedItemVoteManager(final ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> manager, final MetricsRegistry registry, final String name, final Predicate<RESPONSE> succeeded) {
+        super(manager, registry, name, succeeded);
+        this.manager = manager;
+        this.tallyItems = new OperationMetrics(registry, name + ".tallyItems");
+        this.items = registry.histogram(name + ".tallyItems.size");
+    }
+
+    @Override
+    public RESPONSE tally(final ITEM item) {
+        this.items.record(1L);
+        final long start = this.tallyItems.start();
+        final RESPONSE response;
+        try {
+            response = this.manager.tally(item);
+        } catch (final Throwable t) {
+            this.tallyItems.stop(start, false);
+            throw t;
+        }
+        this.tallyItems.stop(start, this.succeeded.test(response));
+        return response;
+    }
+
+    @Override
+    public RESPONSE tally(final Collection<ITEM> items) {
+        this.items.record(items.size());
+        final long start = this.tallyItems.start();
+        final RESPONSE response;
+        try {
+            response = this.manager.tally(items);
+        } catch (final Throwable t) {
+            this.tallyItems.stop(start, false);
+            throw t;
+        }
+        this.tallyItems.stop(start, this.succeeded.test(response));
+        return response;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TallyAlgorithm} which passes every execution to another algorithm
+ * and records the metrics of each call as {@code <name>.execute}, along with
+ * the number of entries within a list as {@code <name>.execute.size}.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class InstrumentedTallyAlgorithm<ENTRY, RESPONSE> implements TallyAlgorithm<ENTRY, RESPONSE> {
+
+    private final TallyAlgorithm<ENTRY, RESPONSE> algorithm;
+    private final Predicate<RESPONSE> succeeded;
+    private final OperationMetrics execute;
+    private final Histogram entries;
+
+    /**
+     * A simple constructor.
+     *
+     * @param algorithm the algorithm to pass every execution to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param succeeded a predicate to test whether a response is from a successful tally
+     */
+    public InstrumentedTallyAlgorithm(final TallyAlgorithm<ENTRY, RESPONSE> algorithm, final MetricsRegistry registry, final String name, final Predicate<RESPONSE> succeeded) {
+        this.algorithm = algorithm;
+        this.succeeded = succeeded;
+        this.execute = new OperationMetrics(registry, name + ".execute");
+        this.entries = registry.histogram(name + ".execute.size");
+    }
+
+    @Override
+    public RESPONSE execute(final List<ENTRY> entries) {
+        this.entries.record(entries.size());
+        final long start = this.execute.start();
+        final RESPONSE response;
+        try {
+            response = this.algorithm.execute(entries);
+        } catch (final Throwable t) {
+            this.execute.stop(start, false);
+            throw t;
+        }
+        this.execute.stop(start, this.succeeded.test(response));
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The number of entries within a stream is not recorded.
+     */
+    @Override
+    public RESPONSE execute(final Stream<ENTRY> entries) {
+        final long start = this.execute.start();
+        final RESPONSE response;
+        try {
+            response = this.algorithm.execute(entries);
+        } catch (final Throwable t) {
+            this.execute.stop(start, false);
+            throw t;
+        }
+        this.execute.stop(start, this.succeeded.test(response));
+        return response;
+    }
+}
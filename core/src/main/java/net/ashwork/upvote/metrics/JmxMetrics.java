@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link MetricsMXBean} which reads the metrics of a
+ * {@link MetricsRegistry} each time an attribute is requested.
+ *
+ * @since 1.1.0
+ */
+public final class JmxMetrics implements MetricsMXBean {
+
+    private final MetricsRegistry registry;
+
+    /**
+     * A simple constructor.
+     *
+     * @param registry the registry whose metrics are exposed
+     */
+    public JmxMetrics(final MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the metrics of a registry with the platform MBean server.
+     *
+     * @param registry the registry whose metrics are exposed
+     * @param name the object name to register the metrics under, such as
+     *             {@code net.ashwork.upvote:type=Metrics}
+     * @return the object name the metrics were registered under
+     * @throws JMException if the name is malformed or already registered
+     */
+    public static ObjectName register(final MetricsRegistry registry, final String name) throws JMException {
+        final ObjectName objectName = new ObjectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxMetrics(registry), objectName);
+        return objectName;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> counters = new TreeMap<>();
+        this.registry.getCounters().forEach((name, counter) -> counters.put(name, counter.getCount()));
+        return counters;
+    }
+
+    @Override
+    public Map<String, Long> getHistogramCounts() {
+        return this.histograms(Histogram::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getHistogramMeans() {
+        return this.histograms(Histogram::getMean);
+    }
+
+    @Override
+    public Map<String, Long> getHistogramMedians() {
+        return this.histograms(histogram -> histogram.getPercentile(0.5));
+    }
+
+    @Override
+    public Map<String, Long> getHistogram99thPercentiles() {
+        return this.histograms(histogram -> histogram.getPercentile(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getHistogramMaxima() {
+        return this.histograms(Histogram::getMax);
+    }
+
+    /**
+     * Reads a statistic from every histogram.
+     *
+     * @param statistic a function to read the statistic from a histogram
+     * @param <T> the type of the statistic
+     * @return a map of histogram names to the statistic
+     */
+    private <T> Map<String, T> histograms(final Function<Histogram, T> statistic) {
+        final Map<String, T> values = new TreeMap<>();
+        this.registry.getHistograms().forEach((name, histogram) -> values.put(name, statistic.apply(histogram)));
+        return values;
+    }
+}
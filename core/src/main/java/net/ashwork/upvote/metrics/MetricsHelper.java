@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import java.util.function.Function;
+
+/**
+ * A utility class to instrument the functions passed to managers.
+ *
+ * @since 1.1.0
+ */
+public final class MetricsHelper {
+
+    /**
+     * Wraps a function converting a thrown throwable to a response such that
+     * every throwable passed to it is counted, along with its class.
+     *
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param registry the registry holding the counters
+     * @param name the name of the counter, which is suffixed by the simple
+     *             name of the throwable's class for the counter of that class
+     * @param <RESPONSE> the type of the response
+     * @return a function which counts the throwable and then converts it
+     */
+    public static <RESPONSE> Function<Throwable, RESPONSE> countingErrors(final Function<Throwable, RESPONSE> throwingError, final MetricsRegistry registry, final String name) {
+        final Counter errors = registry.counter(name);
+        return t -> {
+            errors.increment();
+            registry.counter(name + "." + t.getClass().getSimpleName()).increment();
+            return throwingError.apply(t);
+        };
+    }
+}
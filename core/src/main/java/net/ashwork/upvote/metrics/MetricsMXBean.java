@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import java.util.Map;
+
+/**
+ * A management interface exposing the metrics within a {@link MetricsRegistry}
+ * through JMX. Each attribute maps the name of a metric to its value.
+ *
+ * @since 1.1.0
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Gets the count of every counter.
+     *
+     * @return a map of counter names to counts
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Gets the number of values recorded by every histogram.
+     *
+     * @return a map of histogram names to value counts
+     */
+    Map<String, Long> getHistogramCounts();
+
+    /**
+     * Gets the mean of every histogram.
+     *
+     * @return a map of histogram names to means
+     */
+    Map<String, Double> getHistogramMeans();
+
+    /**
+     * Gets the median of every histogram.
+     *
+     * @return a map of histogram names to medians
+     */
+    Map<String, Long> getHistogramMedians();
+
+    /**
+     * Gets the 99th percentile of every histogram.
+     *
+     * @return a map of histogram names to 99th percentiles
+     */
+    Map<String, Long> getHistogram99thPercentiles();
+
+    /**
+     * Gets the largest value of every histogram.
+     *
+     * @return a map of histogram names to largest values
+     */
+    Map<String, Long> getHistogramMaxima();
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+import java.util.Map;
+
+/**
+ * A registry holding named metrics. Metrics are created the first time they
+ * are requested and shared by every later request for the same name.
+ *
+ * @apiNote
+ * Implementations can forward the metrics to an external monitoring system.
+ * {@link SimpleMetricsRegistry} holds them in memory.
+ *
+ * @since 1.1.0
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Gets or creates the counter with the specified name.
+     *
+     * @param name the name of the counter
+     * @return the counter with the name
+     */
+    Counter counter(final String name);
+
+    /**
+     * Gets or creates the histogram with the specified name.
+     *
+     * @param name the name of the histogram
+     * @return the histogram with the name
+     */
+    Histogram histogram(final String name);
+
+    /**
+     * Gets every counter within the registry.
+     *
+     * @return an unmodifiable map of names to counters
+     */
+    Map<String, Counter> getCounters();
+
+    /**
+     * Gets every histogram within the registry.
+     *
+     * @return an unmodifiable map of names to histograms
+     */
+    Map<String, Histogram> getHistograms();
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.metrics;
+
+/**
+ * The metrics of a single operation: the number of calls, the number of
+ * failed calls, and the latency of each call in nanoseconds. The metrics are
+ * registered as {@code <name>.calls}, {@code <name>.errors}, and
+ * {@code <name>.latency}.
+ *
+ * @since 1.1.0
+ */
+public final class OperationMetrics {
+
+    private final Counter calls;
+    private final Counter errors;
+    private final Histogram latency;
+
+    /**
+     * A simple constructor.
+     *
+     * @param registry the registry holding the metrics
+     * @param name the name of the operation
+     */
+    public OperationMetrics(final MetricsRegistry registry, final String name) {
+        this.calls = registry.counter(name + ".calls");
+        this.errors = registry.counter(name + ".errors");
+        this.latency = registry.histogram(name + ".latency");
+    }
+
+    /**
+     * Gets the start time of a call.
+     *
+     * @return the current time in nanoseconds
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a finished call.
+     *
+     * @param start the start time of the call from {@link #start()}
+     * @param success whether the call was successful
+     */
+    public void stop(final long start, final boolean success) {
+        this.latency.record(System.nanoTime() - start);
+        this.calls.increment();
+        if (!success) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * Gets the number of calls.
+     *
+     * @return the counter of calls
+     */
+    public Counter getCalls() {
+        return this.calls;
+    }
+
+    /**
+     * Gets the number of failed calls.
+     *
+     * @return the counter of failed calls
+     */
+    public Counter getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Gets the latency of each call in nanoseconds.
+     *
+     * @return the histogram of latencies
+     */
+    public Histogram getLatency() {
+        return this.latency;
+    }
+}
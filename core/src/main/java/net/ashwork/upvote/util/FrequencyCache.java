@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache holding a bounded number of entries which only admits
+ * a new entry over the least recently used entry if the new key has been
+ * requested more often.
+ *
+ * <p>The frequency of each key is estimated using a count-min sketch whose
+ * counters are halved periodically, so the frequencies favor recent requests.
+ * Keys which are only seen once, such as during a scan, therefore cannot
+ * evict keys which are requested repeatedly.
+ *
+ * @apiNote
+ * The cache is guarded by a single lock and is intended for values which are
+ * expensive to load, such as those read from a database.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the value
+ * @since 1.1.0
+ */
+public final class FrequencyCache<K, V> {
+
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    private final FrequencySketch sketch;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    /**
+     * A simple constructor.
+     *
+     * @param capacity the maximum number of entries held within the cache
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public FrequencyCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+        this.sketch = new FrequencySketch(capacity);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Gets the value of a key and records the request.
+     *
+     * @param key the key to look up
+     * @return the value of the key, or {@code null} if it is not cached
+     */
+    public V get(final K key) {
+        final V value;
+        synchronized (this) {
+            this.sketch.increment(key);
+            value = this.entries.get(key);
+        }
+        (value != null ? this.hits : this.misses).increment();
+        return value;
+    }
+
+    /**
+     * Gets the value of a key without recording the request, such as to
+     * compare it against a newer value.
+     *
+     * @param key the key to look up
+     * @return the value of the key, or {@code null} if it is not cached
+     */
+    public synchronized V peek(final K key) {
+        return this.entries.get(key);
+    }
+
+    /**
+     * Puts the value of a key into the cache. A cached key is always updated.
+     * Otherwise, the key is only admitted if the cache has space or the key
+     * has been requested more often than the least recently used key.
+     *
+     * @param key the key to put
+     * @param value the value of the key
+     * @return {@code true} if the value is now cached
+     */
+    public boolean put(final K key, final V value) {
+        Objects.requireNonNull(value, "value");
+        synchronized (this) {
+            if (this.entries.containsKey(key) || this.entries.size() < this.capacity) {
+                this.entries.put(key, value);
+                return true;
+            }
+            final Iterator<Map.Entry<K, V>> iterator = this.entries.entrySet().iterator();
+            final K victim = iterator.next().getKey();
+            if (this.sketch.frequency(key) <= this.sketch.frequency(victim)) {
+                return false;
+            }
+            iterator.remove();
+            this.entries.put(key, value);
+        }
+        this.evictions.increment();
+        return true;
+    }
+
+    /**
+     * Removes a key from the cache.
+     *
+     * @param key the key to remove
+     */
+    public synchronized void invalidate(final K key) {
+        this.entries.remove(key);
+    }
+
+    /**
+     * Gets the number of entries within the cache.
+     *
+     * @return the number of cached entries
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the number of requests which found a cached value.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of requests which did not find a cached value.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Gets the number of entries evicted to admit another entry.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Gets the ratio of requests which found a cached value.
+     *
+     * @return the hit rate between {@code 0} and {@code 1}, or {@code 1} if
+     *         there have been no requests
+     */
+    public double getHitRate() {
+        final long hits = this.getHitCount();
+        final long requests = hits + this.getMissCount();
+        return requests == 0 ? 1 : (double) hits / requests;
+    }
+
+    /**
+     * A count-min sketch estimating how often each key has been requested.
+     * Once the number of recorded requests reaches ten times the capacity of
+     * the cache, every counter is halved.
+     */
+    private static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final long[] SEEDS = {0x97cb3127L, 0xab4d3c8bL, 0x8d1c9a71L, 0xc35a3f9dL};
+
+        private final int[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int samples;
+
+        /**
+         * A simple constructor.
+         *
+         * @param capacity the maximum number of entries held within the cache
+         */
+        private FrequencySketch(final int capacity) {
+            final int width = HashHelper.nextPowerOfTwo(Math.max(capacity, 16));
+            this.counters = new int[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * capacity);
+        }
+
+        /**
+         * Records a request for a key.
+         *
+         * @param key the requested key
+         */
+        private void increment(final Object key) {
+            final int hash = Objects.hashCode(key);
+            for (int row = 0; row < DEPTH; row++) {
+                final int index = this.index(hash, row);
+                if (this.counters[row][index] < Integer.MAX_VALUE) {
+                    this.counters[row][index]++;
+                }
+            }
+            if (++this.samples >= this.sampleSize) {
+                this.age();
+            }
+        }
+
+        /**
+         * Estimates how often a key has been requested.
+         *
+         * @param key the key to estimate
+         * @return the estimated number of recent requests for the key
+         */
+        private int frequency(final Object key) {
+            final int hash = Objects.hashCode(key);
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, this.counters[row][this.index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Halves every counter so that older requests count for less.
+         */
+        private void age() {
+            for (final int[] row : this.counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            this.samples >>>= 1;
+        }
+
+        /**
+         * Gets the counter of a hash within a row.
+         *
+         * @param hash the hash of the key
+         * @param row the row of the sketch
+         * @return the index of the counter within the row
+         */
+        private int index(final int hash, final int row) {
+            return (int) HashHelper.mix(hash + SEEDS[row]) & this.mask;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+/**
+ * A utility class to handle hashing primitive keys.
+ *
+ * @since 1.1.0
+ */
+public final class HashHelper {
+
+    /**
+     * The largest power of two which can be used as the length of an array.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Mixes the bits of a key so that keys which only differ in a few bits,
+     * such as sequential identifiers, are spread evenly across a table.
+     *
+     * @implNote
+     * This is the finalizer of the 64-bit MurmurHash3 function.
+     *
+     * @param key the key to mix
+     * @return the mixed key
+     */
+    public static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Mixes the bits of two keys into a single hash.
+     *
+     * @param first the first key to mix
+     * @param second the second key to mix
+     * @return the mixed hash of both keys
+     */
+    public static long mix(final long first, final long second) {
+        return mix(first * 0x9e3779b97f4a7c15L + second);
+    }
+
+    /**
+     * Gets the smallest power of two which is greater than or equal to the
+     * specified value.
+     *
+     * @param value the value to round up
+     * @return the rounded power of two, clamped between {@code 1} and
+     *         {@link #MAX_CAPACITY}
+     */
+    public static int nextPowerOfTwo(final int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        return value >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit(value - 1) << 1;
+    }
+}
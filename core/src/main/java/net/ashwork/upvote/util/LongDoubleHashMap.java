@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from {@code long} keys to {@code double} values which stores both
+ * within primitive arrays using open addressing. No objects are created when
+ * reading or updating an existing key.
+ *
+ * @apiNote
+ * This map is not thread-safe. Any access from multiple threads must be
+ * synchronized externally.
+ *
+ * @since 1.1.0
+ */
+public final class LongDoubleHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int assigned;
+    private int resizeAt;
+    // Zero marks an empty slot, so the value of the zero key is stored separately
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    /**
+     * Constructs an empty map with the default capacity.
+     */
+    public LongDoubleHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map which can hold the expected number of keys
+     * without resizing.
+     *
+     * @param expectedSize the expected number of keys
+     */
+    public LongDoubleHashMap(final int expectedSize) {
+        this.allocate(HashHelper.nextPowerOfTwo((int) Math.ceil(Math.max(expectedSize, DEFAULT_CAPACITY) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key to look up
+     * @param defaultValue the value returned if the key is not present
+     * @return the value of the key, or {@code defaultValue} if not present
+     */
+    public double get(final long key, final double defaultValue) {
+        if (key == 0) {
+            return this.hasZeroKey ? this.zeroValue : defaultValue;
+        }
+        final int index = this.indexOf(key);
+        return index >= 0 ? this.values[index] : defaultValue;
+    }
+
+    /**
+     * Checks whether a key is present within the map.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the key is present
+     */
+    public boolean containsKey(final long key) {
+        return key == 0 ? this.hasZeroKey : this.indexOf(key) >= 0;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key the key to set
+     * @param value the value of the key
+     */
+    public void put(final long key, final double value) {
+        if (key == 0) {
+            this.hasZeroKey = true;
+            this.zeroValue = value;
+            return;
+        }
+        final int index = this.indexOf(key);
+        if (index >= 0) {
+            this.values[index] = value;
+        } else {
+            this.insert(-index - 1, key, value);
+        }
+    }
+
+    /**
+     * Adds a delta to the value of a key. A key which is not present is
+     * treated as having a value of zero.
+     *
+     * @param key the key to update
+     * @param delta the amount to add to the value
+     * @return the updated value of the key
+     */
+    public double addTo(final long key, final double delta) {
+        if (key == 0) {
+            if (!this.hasZeroKey) {
+                this.hasZeroKey = true;
+                this.zeroValue = 0;
+            }
+            return this.zeroValue += delta;
+        }
+        final int index = this.indexOf(key);
+        if (index >= 0) {
+            return this.values[index] += delta;
+        }
+        this.insert(-index - 1, key, delta);
+        return delta;
+    }
+
+    /**
+     * Gets the number of keys within the map.
+     *
+     * @return the number of keys within the map
+     */
+    public int size() {
+        return this.assigned + (this.hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Checks whether the map has no keys.
+     *
+     * @return {@code true} if the map has no keys
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Removes every key from the map.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        this.assigned = 0;
+        this.hasZeroKey = false;
+        this.zeroValue = 0;
+    }
+
+    /**
+     * Performs an action for each key and value within the map. The order the
+     * keys are visited in is not specified.
+     *
+     * @param visitor the action to perform on each key and value
+     */
+    public void forEach(final Visitor visitor) {
+        if (this.hasZeroKey) {
+            visitor.accept(0, this.zeroValue);
+        }
+        final long[] keys = this.keys;
+        final double[] values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of this map.
+     *
+     * @return a new map with the same keys and values
+     */
+    public LongDoubleHashMap copy() {
+        final LongDoubleHashMap copy = new LongDoubleHashMap();
+        copy.keys = this.keys.clone();
+        copy.values = this.values.clone();
+        copy.mask = this.mask;
+        copy.assigned = this.assigned;
+        copy.resizeAt = this.resizeAt;
+        copy.hasZeroKey = this.hasZeroKey;
+        copy.zeroValue = this.zeroValue;
+        return copy;
+    }
+
+    /**
+     * Finds the slot of a non-zero key.
+     *
+     * @param key the key to look up
+     * @return the slot of the key if present, otherwise {@code -(slot + 1)}
+     *         where {@code slot} is the empty slot the key would be inserted at
+     */
+    private int indexOf(final long key) {
+        final long[] keys = this.keys;
+        final int mask = this.mask;
+        for (int index = (int) HashHelper.mix(key) & mask; ; index = (index + 1) & mask) {
+            final long existing = keys[index];
+            if (existing == key) {
+                return index;
+            }
+            if (existing == 0) {
+                return -index - 1;
+            }
+        }
+    }
+
+    /**
+     * Inserts a non-zero key into an empty slot, resizing the table if needed.
+     *
+     * @param index the empty slot to insert the key at
+     * @param key the key to insert
+     * @param value the value of the key
+     */
+    private void insert(final int index, final long key, final double value) {
+        if (this.assigned >= this.resizeAt) {
+            this.rehash(this.keys.length << 1);
+            this.put(key, value);
+            return;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.assigned++;
+    }
+
+    /**
+     * Moves every key into a table with the specified capacity.
+     *
+     * @param capacity the new capacity of the table
+     */
+    private void rehash(final int capacity) {
+        if (capacity > HashHelper.MAX_CAPACITY) {
+            throw new IllegalStateException("The map cannot hold more than " + this.resizeAt + " keys");
+        }
+        final long[] oldKeys = this.keys;
+        final double[] oldValues = this.values;
+        this.allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != 0) {
+                int index = (int) HashHelper.mix(key) & this.mask;
+                while (this.keys[index] != 0) {
+                    index = (index + 1) & this.mask;
+                }
+                this.keys[index] = key;
+                this.values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Allocates empty arrays for a table with the specified capacity.
+     *
+     * @param capacity the capacity of the table, which must be a power of two
+     */
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new double[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    /**
+     * An action performed on a key and its value.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Performs the action on the key and its value.
+         *
+         * @param key the key
+         * @param value the value of the key
+         */
+        void accept(final long key, final double value);
+    }
+}
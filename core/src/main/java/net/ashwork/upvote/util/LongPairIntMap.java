@@ -0,0 +1,404 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+/**
+ * A thread-safe hash map from a pair of {@code long} keys to an {@code int}
+ * value, such as from a user and item to the vote of the user on the item.
+ * Each pair also records the {@code long} time its value was set at, which
+ * allows a value to only be replaced by a later one.
+ *
+ * <p>The keys and values are stored within parallel primitive arrays using
+ * open addressing, so no object is created per pair. The map is split into
+ * segments, each with its own table and lock, which keeps contention low and
+ * allows the map to hold more pairs than a single array could address.
+ *
+ * @since 1.1.0
+ */
+public final class LongPairIntMap {
+
+    private static final float LOAD_FACTOR = 0.75F;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs an empty map.
+     *
+     * @param concurrency the expected number of threads updating the map at once
+     */
+    public LongPairIntMap(final int concurrency) {
+        final int segments = HashHelper.nextPowerOfTwo(concurrency);
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment(DEFAULT_SEGMENT_CAPACITY);
+        }
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segments);
+    }
+
+    /**
+     * Sets the value of a pair of keys. The time of the value is recorded as
+     * {@link Long#MIN_VALUE}.
+     *
+     * @param first the first key of the pair
+     * @param second the second key of the pair
+     * @param value the value of the pair
+     * @param missingValue the value returned if the pair was not present
+     * @return the previous value of the pair, or {@code missingValue} if the
+     *         pair was not present
+     */
+    public int put(final long first, final long second, final int value, final int missingValue) {
+        final long hash = HashHelper.mix(first, second);
+        final Segment segment = this.segment(hash);
+        synchronized (segment) {
+            return segment.put(hash, first, second, value, Long.MIN_VALUE, missingValue);
+        }
+    }
+
+    /**
+     * Sets the value of a pair of keys if the pair is not present or holds a
+     * value set at an earlier time. If both values were set at the same time,
+     * the greater value is kept, so the result does not depend on the order
+     * the values are set in.
+     *
+     * @param first the first key of the pair
+     * @param second the second key of the pair
+     * @param value the value of the pair
+     * @param time the time the value was set at
+     * @param missingValue the value returned if the pair was not present
+     * @return the previous value of the pair, {@code missingValue} if the pair
+     *         was not present, or {@code value} if the value was not replaced
+     * @since 1.1.0
+     */
+    public int putIfLater(final long first, final long second, final int value, final long time, final int missingValue) {
+        final long hash = HashHelper.mix(first, second);
+        final Segment segment = this.segment(hash);
+        synchronized (segment) {
+            return segment.putIfLater(hash, first, second, value, time, missingValue);
+        }
+    }
+
+    /**
+     * Gets the value of a pair of keys.
+     *
+     * @param first the first key of the pair
+     * @param second the second key of the pair
+     * @param missingValue the value returned if the pair is not present
+     * @return the value of the pair, or {@code missingValue} if not present
+     */
+    public int get(final long first, final long second, final int missingValue) {
+        final long hash = HashHelper.mix(first, second);
+        final Segment segment = this.segment(hash);
+        synchronized (segment) {
+            final int index = segment.indexOf(hash, first, second);
+            return index >= 0 ? segment.values[index] : missingValue;
+        }
+    }
+
+    /**
+     * Gets the number of pairs within the map.
+     *
+     * @return the number of pairs within the map
+     */
+    public long size() {
+        long size = 0;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.assigned;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Performs an action for each pair and value within the map. Each segment
+     * is locked while it is visited. The order the pairs are visited in is not
+     * specified.
+     *
+     * @param visitor the action to perform on each pair and value
+     */
+    public void forEach(final Visitor visitor) {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                for (int i = 0; i < segment.values.length; i++) {
+                    if (segment.isOccupied(i)) {
+                        visitor.accept(segment.firsts[i], segment.seconds[i], segment.values[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs an action for each pair, value, and time within the map. Each
+     * segment is locked while it is visited. The order the pairs are visited
+     * in is not specified.
+     *
+     * @param visitor the action to perform on each pair, value, and time
+     */
+    public void forEachTimed(final TimedVisitor visitor) {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                for (int i = 0; i < segment.values.length; i++) {
+                    if (segment.isOccupied(i)) {
+                        visitor.accept(segment.firsts[i], segment.seconds[i], segment.values[i], segment.times[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the segment holding a hash.
+     *
+     * @implNote
+     * The upper bits of the hash select the segment while the lower bits
+     * select the slot within the segment.
+     *
+     * @param hash the mixed hash of the pair
+     * @return the segment holding the pair
+     */
+    private Segment segment(final long hash) {
+        return this.segments.length == 1 ? this.segments[0] : this.segments[(int) (hash >>> this.segmentShift)];
+    }
+
+    /**
+     * An action performed on a pair of keys and its value.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Performs the action on the pair of keys and its value.
+         *
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         */
+        void accept(final long first, final long second, final int value);
+    }
+
+    /**
+     * An action performed on a pair of keys, its value, and the time the value
+     * was set at.
+     */
+    @FunctionalInterface
+    public interface TimedVisitor {
+
+        /**
+         * Performs the action on the pair of keys, its value, and its time.
+         *
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         * @param time the time the value was set at
+         */
+        void accept(final long first, final long second, final int value, final long time);
+    }
+
+    /**
+     * An open addressing table holding a subset of the pairs. Any pair is a
+     * valid key, so occupied slots are tracked within a bit set.
+     */
+    private static final class Segment {
+
+        private long[] firsts;
+        private long[] seconds;
+        private int[] values;
+        private long[] times;
+        private long[] occupied;
+        private int mask;
+        private int assigned;
+        private int resizeAt;
+
+        /**
+         * A simple constructor.
+         *
+         * @param capacity the initial capacity of the table, which must be a
+         *                 power of two
+         */
+        private Segment(final int capacity) {
+            this.allocate(capacity);
+        }
+
+        /**
+         * Sets the value of a pair.
+         *
+         * @param hash the mixed hash of the pair
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         * @param time the time the value was set at
+         * @param missingValue the value returned if the pair was not present
+         * @return the previous value of the pair, or {@code missingValue}
+         */
+        private int put(final long hash, final long first, final long second, final int value, final long time, final int missingValue) {
+            final int index = this.indexOf(hash, first, second);
+            if (index >= 0) {
+                final int previous = this.values[index];
+                this.values[index] = value;
+                this.times[index] = time;
+                return previous;
+            }
+            this.insert(hash, index, first, second, value, time);
+            return missingValue;
+        }
+
+        /**
+         * Sets the value of a pair unless the pair holds a later value.
+         *
+         * @param hash the mixed hash of the pair
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         * @param time the time the value was set at
+         * @param missingValue the value returned if the pair was not present
+         * @return the previous value of the pair, {@code missingValue}, or
+         *         {@code value} if the value was not replaced
+         */
+        private int putIfLater(final long hash, final long first, final long second, final int value, final long time, final int missingValue) {
+            final int index = this.indexOf(hash, first, second);
+            if (index >= 0) {
+                final int previous = this.values[index];
+                final long previousTime = this.times[index];
+                if (time < previousTime || (time == previousTime && value < previous)) {
+                    return value;
+                }
+                this.values[index] = value;
+                this.times[index] = time;
+                return previous;
+            }
+            this.insert(hash, index, first, second, value, time);
+            return missingValue;
+        }
+
+        /**
+         * Inserts a pair which is not present, growing the table if needed.
+         *
+         * @param hash the mixed hash of the pair
+         * @param index the result of {@link #indexOf(long, long, long)} for the pair
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         * @param time the time the value was set at
+         */
+        private void insert(final long hash, final int index, final long first, final long second, final int value, final long time) {
+            int slot = index;
+            if (this.assigned >= this.resizeAt) {
+                this.rehash(this.values.length << 1);
+                slot = this.indexOf(hash, first, second);
+            }
+            this.store(-slot - 1, first, second, value, time);
+            this.assigned++;
+        }
+
+        /**
+         * Finds the slot of a pair.
+         *
+         * @param hash the mixed hash of the pair
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @return the slot of the pair if present, otherwise {@code -(slot + 1)}
+         *         where {@code slot} is the empty slot the pair would be stored at
+         */
+        private int indexOf(final long hash, final long first, final long second) {
+            for (int index = (int) hash & this.mask; ; index = (index + 1) & this.mask) {
+                if (!this.isOccupied(index)) {
+                    return -index - 1;
+                }
+                if (this.firsts[index] == first && this.seconds[index] == second) {
+                    return index;
+                }
+            }
+        }
+
+        /**
+         * Checks whether a slot holds a pair.
+         *
+         * @param index the slot to check
+         * @return {@code true} if the slot holds a pair
+         */
+        private boolean isOccupied(final int index) {
+            return (this.occupied[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * Stores a pair within an empty slot.
+         *
+         * @param index the empty slot
+         * @param first the first key of the pair
+         * @param second the second key of the pair
+         * @param value the value of the pair
+         * @param time the time the value was set at
+         */
+        private void store(final int index, final long first, final long second, final int value, final long time) {
+            this.firsts[index] = first;
+            this.seconds[index] = second;
+            this.values[index] = value;
+            this.times[index] = time;
+            this.occupied[index >>> 6] |= 1L << index;
+        }
+
+        /**
+         * Moves every pair into a table with the specified capacity.
+         *
+         * @param capacity the new capacity of the table
+         */
+        private void rehash(final int capacity) {
+            if (capacity > HashHelper.MAX_CAPACITY) {
+                throw new IllegalStateException("The segment cannot hold more than " + this.resizeAt + " pairs");
+            }
+            final long[] oldFirsts = this.firsts;
+            final long[] oldSeconds = this.seconds;
+            final int[] oldValues = this.values;
+            final long[] oldTimes = this.times;
+            final long[] oldOccupied = this.occupied;
+            this.allocate(capacity);
+            for (int i = 0; i < oldValues.length; i++) {
+                if ((oldOccupied[i >>> 6] & (1L << i)) != 0) {
+                    final int index = this.indexOf(HashHelper.mix(oldFirsts[i], oldSeconds[i]), oldFirsts[i], oldSeconds[i]);
+                    this.store(-index - 1, oldFirsts[i], oldSeconds[i], oldValues[i], oldTimes[i]);
+                }
+            }
+        }
+
+        /**
+         * Allocates empty arrays for a table with the specified capacity.
+         *
+         * @param capacity the capacity of the table, which must be a power of two
+         */
+        private void allocate(final int capacity) {
+            this.firsts = new long[capacity];
+            this.seconds = new long[capacity];
+            this.values = new int[capacity];
+            this.times = new long[capacity];
+            this.occupied = new long[Math.max(1, capacity >>> 6)];
+            this.mask = capacity - 1;
+            this.resizeAt = Math.min(capacity - 1, (int) (capacity * LOAD_FACTOR));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+import java.util.Arrays;
+
+/**
+ * A fixed number of consecutive time buckets, each holding the sum of the
+ * values added within its span of time. The buckets are reused as a ring, so
+ * a bucket is cleared once time moves a full ring past it and older values
+ * expire without being visited.
+ *
+ * @apiNote
+ * Times are measured in some fixed unit, such as milliseconds since the epoch.
+ * Any query is accurate to the width of a bucket. This ring is not thread-safe.
+ *
+ * @since 1.1.0
+ */
+public final class TimeBucketRing {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final long width;
+    private final long[] sums;
+    // The index of the bucket since time zero which currently occupies each slot
+    private final long[] indices;
+
+    /**
+     * A simple constructor.
+     *
+     * @param width the span of time covered by each bucket
+     * @param buckets the number of buckets within the ring
+     * @throws IllegalArgumentException if the width or number of buckets is not
+     *                                  positive
+     */
+    public TimeBucketRing(final long width, final int buckets) {
+        if (width <= 0 || buckets <= 0) {
+            throw new IllegalArgumentException("The width and number of buckets must be positive");
+        }
+        this.width = width;
+        this.sums = new long[buckets];
+        this.indices = new long[buckets];
+        Arrays.fill(this.indices, Long.MIN_VALUE);
+    }
+
+    /**
+     * Adds a value to the bucket covering the specified time. A value older
+     * than the oldest bucket in the ring is ignored.
+     *
+     * @param time the time the value was recorded
+     * @param value the value to add
+     */
+    public void add(final long time, final long value) {
+        this.addToBucket(Math.floorDiv(time, this.width), value);
+    }
+
+    /**
+     * Adds every bucket of another ring with the same width into this ring.
+     *
+     * @param other the ring to merge into this ring
+     * @throws IllegalArgumentException if the rings have different widths
+     */
+    public void merge(final TimeBucketRing other) {
+        if (other.width != this.width) {
+            throw new IllegalArgumentException("Cannot merge rings with different bucket widths");
+        }
+        for (int slot = 0; slot < other.sums.length; slot++) {
+            if (other.indices[slot] != Long.MIN_VALUE) {
+                this.addToBucket(other.indices[slot], other.sums[slot]);
+            }
+        }
+    }
+
+    /**
+     * Sums the values recorded within a window of time ending now. Buckets
+     * which partially overlap the window are counted in full.
+     *
+     * @param now the current time
+     * @param window the span of time to sum over, which cannot exceed the span
+     *               of the ring
+     * @return the sum of the values within the window
+     */
+    public long sum(final long now, final long window) {
+        final long last = Math.floorDiv(now, this.width);
+        final long first = Math.max(Math.floorDiv(now - window, this.width), last - this.sums.length + 1);
+        long sum = 0;
+        for (int slot = 0; slot < this.sums.length; slot++) {
+            final long index = this.indices[slot];
+            if (index >= first && index <= last) {
+                sum += this.sums[slot];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the values within the ring, each decayed exponentially by its age.
+     * A value loses half its weight each time the half-life passes.
+     *
+     * @implNote
+     * The age of a bucket is measured from its midpoint. Values which have
+     * already expired from the ring are not counted.
+     *
+     * @param now the current time
+     * @param halfLife the span of time over which a value loses half its weight
+     * @return the decayed sum of the values within the ring
+     * @throws IllegalArgumentException if the half-life is not positive
+     */
+    public double decayed(final long now, final double halfLife) {
+        if (!(halfLife > 0.0)) {
+            throw new IllegalArgumentException("The half-life must be positive");
+        }
+        final long last = Math.floorDiv(now, this.width);
+        final long first = last - this.sums.length + 1;
+        final double rate = LN_2 / halfLife;
+        double sum = 0;
+        for (int slot = 0; slot < this.sums.length; slot++) {
+            final long index = this.indices[slot];
+            if (index >= first && index <= last) {
+                final double age = now - (index * this.width + this.width / 2.0);
+                sum += this.sums[slot] * Math.exp(-rate * Math.max(0, age));
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Checks whether every value within the ring has expired.
+     *
+     * @param now the current time
+     * @return {@code true} if no bucket within the ring covers a time within
+     *         the span of the ring
+     */
+    public boolean isExpired(final long now) {
+        final long first = Math.floorDiv(now, this.width) - this.sums.length + 1;
+        for (final long index : this.indices) {
+            if (index >= first) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a value to a bucket, clearing the slot if it holds an older bucket.
+     *
+     * @param index the index of the bucket since time zero
+     * @param value the value to add
+     */
+    private void addToBucket(final long index, final long value) {
+        final int slot = (int) Math.floorMod(index, (long) this.sums.length);
+        final long current = this.indices[slot];
+        if (current != index) {
+            if (current > index) {
+                // The slot already holds a newer bucket, so the value has expired
+                return;
+            }
+            this.indices[slot] = index;
+            this.sums[slot] = 0;
+        }
+        this.sums[slot] += value;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link ReputationBatchEncoder} and {@link ReputationBatchDecoder}.
+ */
+public class ReputationBatchCodecTest {
+
+    private final ReputationBatchEncoder encoder = new ReputationBatchEncoder();
+    private final ReputationBatchDecoder decoder = new ReputationBatchDecoder();
+
+    @Test
+    public void edgeValuesSurviveARoundTripInEitherOrder() {
+        final ByteBuffer big = ByteBuffer.allocate(ReputationBatchEncoder.maxFrameSize(3));
+        final ByteBuffer little = ByteBuffer.allocate(ReputationBatchEncoder.maxFrameSize(3)).order(ByteOrder.LITTLE_ENDIAN);
+        for (final ByteBuffer buffer : new ByteBuffer[] {big, little}) {
+            this.encoder.begin(buffer)
+                    .add(Long.MIN_VALUE, -0.0D, Long.MAX_VALUE)
+                    .add(Long.MAX_VALUE, Double.MAX_VALUE, Long.MIN_VALUE)
+                    .add(0L, Double.NaN, 0L);
+            assertEquals(3, this.encoder.finish());
+            buffer.flip();
+        }
+        assertEquals(big, little);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, little.order());
+
+        final List<String> decoded = new ArrayList<>();
+        assertEquals(3, this.decoder.decode(little, (user, reputation, time) -> decoded.add(user + " " + reputation + " " + time)));
+        assertEquals(0, little.remaining());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, little.order());
+        assertEquals(Long.MIN_VALUE + " -0.0 " + Long.MAX_VALUE, decoded.get(0));
+        assertEquals(Long.MAX_VALUE + " " + Double.MAX_VALUE + " " + Long.MIN_VALUE, decoded.get(1));
+        assertEquals("0 NaN 0", decoded.get(2));
+    }
+
+    @Test
+    public void overflowDiscardsTheFrame() {
+        final ByteBuffer buffer = ByteBuffer.allocate(ReputationBatchEncoder.maxFrameSize(1)).order(ByteOrder.LITTLE_ENDIAN);
+        this.encoder.begin(buffer).add(1L, 1.0D, 1L);
+        assertThrows(BufferOverflowException.class, () -> this.encoder.add(Long.MIN_VALUE, 2.0D, Long.MIN_VALUE));
+        assertEquals(0, buffer.position());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        this.encoder.begin(buffer).add(1L, 1.0D, 1L);
+        assertEquals(1, this.encoder.finish());
+    }
+}
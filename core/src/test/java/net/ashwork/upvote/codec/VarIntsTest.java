@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link VarInts}.
+ */
+public class VarIntsTest {
+
+    private static final long[] EDGES = {
+            0L, 1L, -1L, 63L, -64L, 64L, -65L, 127L, 128L,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1
+    };
+
+    @Test
+    public void signedEdgeValuesSurviveARoundTrip() {
+        final ByteBuffer buffer = ByteBuffer.allocate(VarInts.MAX_LONG_SIZE);
+        for (final long value : EDGES) {
+            buffer.clear();
+            VarInts.putSignedVarLong(buffer, value);
+            assertEquals(VarInts.sizeOfVarLong(VarInts.zigZag(value)), buffer.position(), "size of " + value);
+            buffer.flip();
+            assertEquals(value, VarInts.getSignedVarLong(buffer));
+            assertEquals(0, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void unsignedEdgeValuesSurviveARoundTrip() {
+        final ByteBuffer buffer = ByteBuffer.allocate(VarInts.MAX_LONG_SIZE);
+        for (final long value : EDGES) {
+            buffer.clear();
+            VarInts.putVarLong(buffer, value);
+            assertEquals(VarInts.sizeOfVarLong(value), buffer.position(), "size of " + value);
+            buffer.flip();
+            assertEquals(value, VarInts.getVarLong(buffer));
+        }
+    }
+
+    @Test
+    public void extremeValuesUseTheMaximumSize() {
+        assertEquals(VarInts.MAX_LONG_SIZE, VarInts.sizeOfVarLong(VarInts.zigZag(Long.MIN_VALUE)));
+        assertEquals(VarInts.MAX_LONG_SIZE, VarInts.sizeOfVarLong(VarInts.zigZag(Long.MAX_VALUE)));
+        assertEquals(VarInts.MAX_INT_SIZE, VarInts.sizeOfVarLong(VarInts.zigZag(Integer.MIN_VALUE)));
+    }
+
+    @Test
+    public void overlongValueIsRejected() {
+        final ByteBuffer buffer = ByteBuffer.allocate(VarInts.MAX_LONG_SIZE + 1);
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0x80);
+        }
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> VarInts.getVarLong(buffer));
+    }
+}
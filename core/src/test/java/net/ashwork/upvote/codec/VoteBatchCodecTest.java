@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link VoteBatchEncoder} and {@link VoteBatchDecoder}.
+ */
+public class VoteBatchCodecTest {
+
+    private static final int USER = 0, ITEM = 1, VOTE = 2, TIME = 3;
+
+    private final VoteBatchEncoder encoder = new VoteBatchEncoder();
+    private final VoteBatchDecoder decoder = new VoteBatchDecoder();
+
+    @Test
+    public void edgeValuesSurviveARoundTrip() {
+        final List<long[]> votes = new ArrayList<>();
+        votes.add(new long[] {Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE});
+        votes.add(new long[] {Long.MAX_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE});
+        votes.add(new long[] {0L, -1L, 0, 0L});
+        votes.add(new long[] {-1L, 0L, Integer.MIN_VALUE, Long.MAX_VALUE});
+        assertVotes(votes, this.roundTrip(ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(votes.size())), votes));
+    }
+
+    @Test
+    public void votesPastTheDictionarySurviveARoundTrip() {
+        final List<long[]> votes = new ArrayList<>();
+        for (int i = 0; i < VoteBatchEncoder.DICTIONARY_SIZE * 3; i++) {
+            // Every vote is distinct the first time around, then repeats both inside and outside the dictionary
+            votes.add(new long[] {i, i, i % (VoteBatchEncoder.DICTIONARY_SIZE * 2) - VoteBatchEncoder.DICTIONARY_SIZE, i});
+        }
+        assertVotes(votes, this.roundTrip(ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(votes.size())), votes));
+    }
+
+    @Test
+    public void frameDoesNotDependOnTheOrderOfTheBuffer() {
+        final List<long[]> votes = new ArrayList<>();
+        votes.add(new long[] {1L, 2L, 1, 3L});
+        final ByteBuffer big = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(1));
+        final ByteBuffer little = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(1)).order(ByteOrder.LITTLE_ENDIAN);
+        this.encode(big, votes);
+        this.encode(little, votes);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, little.order());
+        big.flip();
+        little.flip();
+        assertEquals(big, little);
+
+        // A frame written big-endian is read the same from a little-endian view
+        assertVotes(votes, this.decode(big.order(ByteOrder.LITTLE_ENDIAN)));
+        assertEquals(ByteOrder.LITTLE_ENDIAN, big.order());
+    }
+
+    @Test
+    public void corruptFrameIsRejected() {
+        final List<long[]> votes = new ArrayList<>();
+        votes.add(new long[] {1L, 2L, 1, 3L});
+        votes.add(new long[] {4L, 5L, -1, 6L});
+        final ByteBuffer buffer = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(votes.size()));
+        this.encode(buffer, votes);
+        buffer.flip();
+        for (int i = 0; i < buffer.limit(); i++) {
+            final ByteBuffer corrupt = copy(buffer);
+            corrupt.put(i, (byte) (corrupt.get(i) ^ 0x01));
+            assertThrows(IllegalArgumentException.class, () -> this.decoder.decode(corrupt, (user, item, vote, time) -> { }), "flipped byte " + i);
+        }
+    }
+
+    @Test
+    public void truncatedFrameIsRejected() {
+        final List<long[]> votes = new ArrayList<>();
+        votes.add(new long[] {1L, 2L, 1, 3L});
+        final ByteBuffer buffer = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(votes.size()));
+        this.encode(buffer, votes);
+        buffer.flip();
+        for (int limit = 0; limit < buffer.limit(); limit++) {
+            final ByteBuffer truncated = copy(buffer);
+            truncated.limit(limit);
+            assertThrows(IllegalArgumentException.class, () -> this.decoder.decode(truncated, (user, item, vote, time) -> { }), "limit " + limit);
+        }
+    }
+
+    @Test
+    public void overflowDiscardsTheFrame() {
+        final ByteBuffer buffer = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(2)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(3);
+        this.encoder.begin(buffer);
+        assertThrows(BufferOverflowException.class, () -> {
+            for (long i = 0; ; i++) {
+                this.encoder.add(Long.MIN_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE + (int) i, Long.MIN_VALUE);
+            }
+        });
+        assertEquals(3, buffer.position());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertThrows(IllegalStateException.class, this.encoder::finish);
+
+        // The encoder is ready for a new frame
+        final List<long[]> votes = new ArrayList<>();
+        votes.add(new long[] {1L, 2L, 1, 3L});
+        this.encode(buffer, votes);
+        buffer.flip().position(3);
+        assertVotes(votes, this.decode(buffer));
+    }
+
+    @Test
+    public void abortDiscardsTheFrame() {
+        final ByteBuffer buffer = ByteBuffer.allocate(VoteBatchEncoder.maxFrameSize(1));
+        this.encoder.begin(buffer).add(1L, 2L, 1, 3L);
+        this.encoder.abort();
+        assertEquals(0, buffer.position());
+        this.encoder.abort();
+        this.encoder.begin(buffer);
+        assertEquals(0, this.encoder.finish());
+    }
+
+    private List<long[]> roundTrip(final ByteBuffer buffer, final List<long[]> votes) {
+        this.encode(buffer, votes);
+        buffer.flip();
+        final List<long[]> decoded = this.decode(buffer);
+        assertEquals(0, buffer.remaining());
+        return decoded;
+    }
+
+    private void encode(final ByteBuffer buffer, final List<long[]> votes) {
+        this.encoder.begin(buffer);
+        for (final long[] vote : votes) {
+            this.encoder.add(vote[USER], vote[ITEM], (int) vote[VOTE], vote[TIME]);
+        }
+        assertEquals(votes.size(), this.encoder.finish());
+    }
+
+    private List<long[]> decode(final ByteBuffer buffer) {
+        final List<long[]> votes = new ArrayList<>();
+        final int count = this.decoder.decode(buffer, (user, item, vote, time) -> votes.add(new long[] {user, item, vote, time}));
+        assertEquals(votes.size(), count);
+        return votes;
+    }
+
+    private static void assertVotes(final List<long[]> expected, final List<long[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static ByteBuffer copy(final ByteBuffer buffer) {
+        final ByteBuffer copy = ByteBuffer.allocate(buffer.limit());
+        copy.put(buffer.duplicate()).flip();
+        return copy;
+    }
+}
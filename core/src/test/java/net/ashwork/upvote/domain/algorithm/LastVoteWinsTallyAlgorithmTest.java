@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.domain.algorithm;
+
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link LastVoteWinsTallyAlgorithm}.
+ */
+public class LastVoteWinsTallyAlgorithmTest {
+
+    private static final int USER = 0, ITEM = 1, VOTE = 2, TIME = 3;
+
+    private final LastVoteWinsTallyAlgorithm<long[], Map<Long, Long>> algorithm = new LastVoteWinsTallyAlgorithm<>(
+            entry -> entry[USER], entry -> entry[ITEM], entry -> (int) entry[VOTE], entry -> entry[TIME], 4, state -> scores(state.getScores()));
+
+    @Test
+    public void retriedVoteChangesNothing() {
+        final LastVoteWinsTallyAlgorithm.State state = this.algorithm.createState();
+        this.algorithm.accumulate(state, new long[] {1, 10, 1, 5});
+        this.algorithm.accumulate(state, new long[] {1, 10, 1, 5});
+        assertEquals(1, state.getScore(10));
+    }
+
+    @Test
+    public void laterVoteReplacesEarlierVote() {
+        final LastVoteWinsTallyAlgorithm.State state = this.algorithm.createState();
+        this.algorithm.accumulate(state, new long[] {1, 10, 1, 5});
+        this.algorithm.accumulate(state, new long[] {1, 10, -1, 6});
+        assertEquals(-1, state.getScore(10));
+        assertEquals(-1, state.getVote(1, 10));
+    }
+
+    @Test
+    public void earlierVoteAccumulatedLastIsIgnored() {
+        final LastVoteWinsTallyAlgorithm.State state = this.algorithm.createState();
+        this.algorithm.accumulate(state, new long[] {1, 10, -1, 6});
+        assertEquals(0, state.cast(1, 10, 1, 5));
+        assertEquals(-1, state.getScore(10));
+    }
+
+    @Test
+    public void votesAtTheSameTimeKeepTheGreaterVote() {
+        final LastVoteWinsTallyAlgorithm.State first = this.algorithm.createState();
+        first.cast(1, 10, -1, 5);
+        first.cast(1, 10, 1, 5);
+        final LastVoteWinsTallyAlgorithm.State second = this.algorithm.createState();
+        second.cast(1, 10, 1, 5);
+        second.cast(1, 10, -1, 5);
+        assertEquals(1, first.getScore(10));
+        assertEquals(1, second.getScore(10));
+    }
+
+    @Test
+    public void tallyDoesNotDependOnOrder() {
+        final List<long[]> entries = entries(new Random(42), 5000);
+        final Map<Long, Long> expected = this.tally(entries);
+        for (int seed = 0; seed < 5; seed++) {
+            final List<long[]> shuffled = new ArrayList<>(entries);
+            Collections.shuffle(shuffled, new Random(seed));
+            assertEquals(expected, this.tally(shuffled));
+        }
+    }
+
+    @Test
+    public void combinedStatesMatchSequentialTally() {
+        final List<long[]> entries = entries(new Random(7), 5000);
+        final Map<Long, Long> expected = this.tally(entries);
+        final List<long[]> shuffled = new ArrayList<>(entries);
+        Collections.shuffle(shuffled, new Random(3));
+        final LastVoteWinsTallyAlgorithm.State left = this.algorithm.createState();
+        final LastVoteWinsTallyAlgorithm.State right = this.algorithm.createState();
+        for (int i = 0; i < shuffled.size(); i++) {
+            this.algorithm.accumulate(i % 2 == 0 ? left : right, shuffled.get(i));
+        }
+        assertEquals(expected, this.algorithm.result(this.algorithm.combine(right, left)));
+    }
+
+    private Map<Long, Long> tally(final List<long[]> entries) {
+        final LastVoteWinsTallyAlgorithm.State state = this.algorithm.createState();
+        entries.forEach(entry -> this.algorithm.accumulate(state, entry));
+        return this.algorithm.result(state);
+    }
+
+    private static Map<Long, Long> scores(final LongLongHashMap scores) {
+        final Map<Long, Long> nonZero = new TreeMap<>();
+        scores.forEach((item, score) -> {
+            if (score != 0) {
+                nonZero.put(item, score);
+            }
+        });
+        return nonZero;
+    }
+
+    private static List<long[]> entries(final Random random, final int count) {
+        final List<long[]> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new long[] {random.nextInt(50), random.nextInt(20), random.nextBoolean() ? 1 : -1, random.nextInt(100)});
+        }
+        return entries;
+    }
+}
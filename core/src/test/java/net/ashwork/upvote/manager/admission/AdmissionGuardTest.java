@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AdmissionGuard}.
+ */
+public class AdmissionGuardTest {
+
+    private static final String ADMITTED = "admitted";
+
+    private final KeyedRateLimiter keyLimiter = new KeyedRateLimiter(1, 1, TimeUnit.HOURS, 1);
+    private final RateLimiter globalLimiter = new RateLimiter(1, 1, TimeUnit.HOURS, 1);
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit(1, 1, 1, 1, TimeUnit.HOURS, 0.5);
+    private final AdmissionGuard<Long, String> guard = new AdmissionGuard<>(entry -> ADMITTED, entry -> entry,
+            this.keyLimiter, this.globalLimiter, this.concurrencyLimit, ADMITTED::equals, Rejection::name);
+
+    @Test
+    public void concurrencyRejectionRefundsTheRateLimits() {
+        assertTrue(this.concurrencyLimit.tryAcquire());
+        assertEquals(Rejection.CONCURRENCY.name(), this.guard.putEntry(1L));
+        this.concurrencyLimit.release(0L, true);
+        assertEquals(ADMITTED, this.guard.putEntry(1L));
+    }
+
+    @Test
+    public void globalRejectionRefundsTheKeyRateLimit() {
+        assertTrue(this.globalLimiter.tryAcquire());
+        assertEquals(Rejection.GLOBAL_RATE.name(), this.guard.putEntry(1L));
+        assertTrue(this.keyLimiter.tryAcquire(1L));
+    }
+
+    @Test
+    public void admittedEntryStaysCharged() {
+        assertEquals(ADMITTED, this.guard.putEntry(1L));
+        assertEquals(Rejection.KEY_RATE.name(), this.guard.putEntry(1L));
+        assertFalse(this.globalLimiter.tryAcquire());
+    }
+}
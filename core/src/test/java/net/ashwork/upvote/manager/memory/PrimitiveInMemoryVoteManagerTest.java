@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.manager.memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link PrimitiveInMemoryVoteManager}.
+ */
+public class PrimitiveInMemoryVoteManagerTest {
+
+    private final PrimitiveInMemoryVoteManager<Object> manager = new PrimitiveInMemoryVoteManager<>(4, true, () -> Boolean.TRUE, scores -> scores);
+
+    @Test
+    public void laterVoteReplacesEarlierVote() {
+        this.manager.castVote(1L, 10L, 1, 5L);
+        this.manager.castVote(1L, 10L, -1, 6L);
+        assertEquals(-1L, this.manager.getScore(10L));
+    }
+
+    @Test
+    public void olderVoteCastAfterNewerVoteIsIgnored() {
+        this.manager.castVote(1L, 10L, -1, 6L);
+        this.manager.castVote(2L, 10L, 1, 6L);
+        this.manager.castVote(1L, 10L, 1, 5L);
+        assertEquals(0L, this.manager.getScore(10L));
+        this.manager.castVote(1L, 10L, -1, 6L);
+        assertEquals(0L, this.manager.getScore(10L));
+    }
+
+    @Test
+    public void votesAreSummedWithoutDeduplication() {
+        final PrimitiveInMemoryVoteManager<Object> summing = new PrimitiveInMemoryVoteManager<>(4, () -> Boolean.TRUE, scores -> scores);
+        summing.castVote(1L, 10L, 1, 6L);
+        summing.castVote(1L, 10L, 1, 5L);
+        assertEquals(2L, summing.getScore(10L));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link TimeBucketRing}.
+ */
+public class TimeBucketRingTest {
+
+    @Test
+    public void valueLosesHalfItsWeightEachHalfLife() {
+        final TimeBucketRing ring = new TimeBucketRing(10L, 8);
+        ring.add(0L, 8L);
+        // The bucket's midpoint is at 5, so it is 20 old at 25
+        assertEquals(2.0D, ring.decayed(25L, 10.0D), 1e-9);
+    }
+
+    @Test
+    public void nonPositiveHalfLifeIsRejected() {
+        final TimeBucketRing ring = new TimeBucketRing(10L, 8);
+        ring.add(0L, 1L);
+        assertThrows(IllegalArgumentException.class, () -> ring.decayed(5L, 0.0D));
+        assertThrows(IllegalArgumentException.class, () -> ring.decayed(5L, -1.0D));
+        assertThrows(IllegalArgumentException.class, () -> ring.decayed(5L, Double.NaN));
+    }
+}
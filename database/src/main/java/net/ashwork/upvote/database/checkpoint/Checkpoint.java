@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.checkpoint;
+
+/**
+ * The running state of a tally along with the position of the table it
+ * reflects.
+ *
+ * @param <STATE> the type of the running state of the tally
+ * @since 1.1.0
+ */
+public final class Checkpoint<STATE> {
+
+    private final long position;
+    private final STATE state;
+
+    /**
+     * A simple constructor.
+     *
+     * @param position the position of the table reflected by the state
+     * @param state the running state of the tally
+     */
+    public Checkpoint(final long position, final STATE state) {
+        this.position = position;
+        this.state = state;
+    }
+
+    /**
+     * Gets the position of the table reflected by the state. Every entry
+     * before the position has been accumulated into the state.
+     *
+     * @return the position of the table
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets the running state of the tally.
+     *
+     * @return the running state of the tally
+     */
+    public STATE getState() {
+        return this.state;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.checkpoint;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * A directory of checkpoints on local disk. Each checkpoint is written to a
+ * temporary file, forced to disk, and then atomically renamed, so a crash
+ * while saving never leaves a partial checkpoint behind. Only the most
+ * recent checkpoints are retained.
+ *
+ * <p>Each file holds the position of the checkpoint, the encoded state, and a
+ * CRC-32 checksum. When loading, any checkpoint which cannot be verified or
+ * decoded is skipped in favor of an older one. The length of the state is
+ * checked against the size of the file before it is read, so a corrupt
+ * length cannot allocate more than the file holds.
+ *
+ * @since 1.1.0
+ */
+public final class CheckpointStore {
+
+    /**
+     * The default number of checkpoints retained.
+     */
+    public static final int DEFAULT_RETAINED = 2;
+    private static final int MAGIC = 0x55504350;
+    private static final int HEADER = Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String PREFIX = "checkpoint-";
+    private static final String EXTENSION = ".bin";
+    private static final String TEMPORARY = ".tmp";
+
+    private final Path directory;
+    private final int retained;
+
+    /**
+     * A simple constructor which retains the default number of checkpoints.
+     *
+     * @param directory the directory holding the checkpoints
+     * @throws IOException if the directory could not be created
+     */
+    public CheckpointStore(final Path directory) throws IOException {
+        this(directory, DEFAULT_RETAINED);
+    }
+
+    /**
+     * A constructor which specifies the number of checkpoints retained.
+     *
+     * @param directory the directory holding the checkpoints
+     * @param retained the number of most recent checkpoints to keep
+     * @throws IOException if the directory could not be created
+     * @throws IllegalArgumentException if the number retained is not positive
+     */
+    public CheckpointStore(final Path directory, final int retained) throws IOException {
+        if (retained <= 0) {
+            throw new IllegalArgumentException("At least one checkpoint must be retained");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.retained = retained;
+    }
+
+    /**
+     * Encodes a state into the bytes of a checkpoint.
+     *
+     * @apiNote
+     * This is separate from {@link #write(long, byte[])} so that the state can
+     * be encoded while it is locked and written to disk afterwards.
+     *
+     * @param state the state to encode
+     * @param codec the codec of the state
+     * @param <STATE> the type of the running state of the tally
+     * @return the encoded state
+     * @throws IOException if the state could not be encoded
+     */
+    public <STATE> byte[] encode(final STATE state, final StateCodec<STATE> codec) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream output = new DataOutputStream(bytes)) {
+            codec.encode(state, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Saves a state as the newest checkpoint.
+     *
+     * @param position the position of the table reflected by the state
+     * @param state the state to save
+     * @param codec the codec of the state
+     * @param <STATE> the type of the running state of the tally
+     * @throws IOException if the checkpoint could not be written
+     */
+    public <STATE> void save(final long position, final STATE state, final StateCodec<STATE> codec) throws IOException {
+        this.write(position, this.encode(state, codec));
+    }
+
+    /**
+     * Writes an encoded state as the newest checkpoint and deletes any
+     * checkpoint no longer retained.
+     *
+     * @param position the position of the table reflected by the state
+     * @param state the encoded state
+     * @throws IOException if the checkpoint could not be written
+     */
+    public void write(final long position, final byte[] state) throws IOException {
+        final CRC32 checksum = new CRC32();
+        checksum.update(state);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER);
+        header.putInt(MAGIC).putLong(position).putInt(state.length).putLong(checksum.getValue()).flip();
+
+        final Path file = this.file(position);
+        final Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY);
+        try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer body = ByteBuffer.wrap(state);
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        final List<Long> positions = this.positions();
+        for (int i = this.retained; i < positions.size(); i++) {
+            Files.deleteIfExists(this.file(positions.get(i)));
+        }
+    }
+
+    /**
+     * Loads the newest checkpoint which can be verified and decoded.
+     *
+     * @param codec the codec of the state
+     * @param <STATE> the type of the running state of the tally
+     * @return the newest valid checkpoint, or empty if there is none
+     * @throws IOException if the directory could not be read
+     */
+    public <STATE> Optional<Checkpoint<STATE>> loadLatest(final StateCodec<STATE> codec) throws IOException {
+        for (final long position : this.positions()) {
+            final Optional<Checkpoint<STATE>> checkpoint = this.load(position, codec);
+            if (checkpoint.isPresent()) {
+                return checkpoint;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Loads the checkpoint at the specified position.
+     *
+     * @param position the position of the checkpoint
+     * @param codec the codec of the state
+     * @param <STATE> the type of the running state of the tally
+     * @return the checkpoint, or empty if it could not be verified or decoded
+     */
+    private <STATE> Optional<Checkpoint<STATE>> load(final long position, final StateCodec<STATE> codec) {
+        final Path file = this.file(position);
+        try (final DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            if (input.readInt() != MAGIC || input.readLong() != position) {
+                return Optional.empty();
+            }
+            final int length = input.readInt();
+            if (length < 0 || length != Files.size(file) - HEADER) {
+                return Optional.empty();
+            }
+            final byte[] state = new byte[length];
+            final long expected = input.readLong();
+            input.readFully(state);
+            final CRC32 checksum = new CRC32();
+            checksum.update(state);
+            if (checksum.getValue() != expected) {
+                return Optional.empty();
+            }
+            try (final DataInputStream decoder = new DataInputStream(new ByteArrayInputStream(state))) {
+                return Optional.of(new Checkpoint<>(position, codec.decode(decoder)));
+            }
+        } catch (final IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the position of every checkpoint within the directory.
+     *
+     * @return the positions of the checkpoints from newest to oldest
+     * @throws IOException if the directory could not be read
+     */
+    private List<Long> positions() throws IOException {
+        final List<Long> positions = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, PREFIX + "*" + EXTENSION)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                try {
+                    positions.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - EXTENSION.length())));
+                } catch (final NumberFormatException ignored) {
+                    // Not a checkpoint written by this store
+                }
+            }
+        }
+        positions.sort(Collections.reverseOrder());
+        return positions;
+    }
+
+    /**
+     * Gets the file of the checkpoint at the specified position.
+     *
+     * @param position the position of the checkpoint
+     * @return the file of the checkpoint
+     */
+    private Path file(final long position) {
+        return this.directory.resolve(String.format("%s%020d%s", PREFIX, position, EXTENSION));
+    }
+}
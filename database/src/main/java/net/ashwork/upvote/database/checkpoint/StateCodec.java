@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.checkpoint;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A codec which converts the running state of a tally to and from bytes so
+ * that it can be checkpointed.
+ *
+ * @param <STATE> the type of the running state of the tally
+ * @since 1.1.0
+ */
+public interface StateCodec<STATE> {
+
+    /**
+     * Writes the state to the output.
+     *
+     * @param state the state to write
+     * @param output the output to write to
+     * @throws IOException if the state could not be written
+     */
+    void encode(final STATE state, final DataOutput output) throws IOException;
+
+    /**
+     * Reads a state previously written by {@link #encode(Object, DataOutput)}.
+     *
+     * @param input the input to read from
+     * @return the state read from the input
+     * @throws IOException if the state could not be read
+     */
+    STATE decode(final DataInput input) throws IOException;
+}
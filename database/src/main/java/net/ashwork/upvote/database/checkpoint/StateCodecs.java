@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.checkpoint;
+
+import net.ashwork.upvote.domain.algorithm.LastVoteWinsTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A utility class holding {@link StateCodec}s for common tally states.
+ *
+ * @since 1.1.0
+ */
+public final class StateCodecs {
+
+    /**
+     * Creates a codec for a map of longs, such as the score of each item.
+     *
+     * @return a codec for a {@link LongLongHashMap}
+     */
+    public static StateCodec<LongLongHashMap> longLongHashMap() {
+        return new StateCodec<LongLongHashMap>() {
+
+            @Override
+            public void encode(final LongLongHashMap state, final DataOutput output) throws IOException {
+                output.writeInt(state.size());
+                try {
+                    state.forEach((key, value) -> {
+                        try {
+                            output.writeLong(key);
+                            output.writeLong(value);
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (final UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+
+            @Override
+            public LongLongHashMap decode(final DataInput input) throws IOException {
+                final int size = input.readInt();
+                final LongLongHashMap state = new LongLongHashMap(size);
+                for (int i = 0; i < size; i++) {
+                    state.put(input.readLong(), input.readLong());
+                }
+                return state;
+            }
+        };
+    }
+
+    /**
+     * Creates a codec for the state of a {@link LastVoteWinsTallyAlgorithm}.
+     * Only the latest vote of each user on each item and its time are
+     * written; the scores are recomputed from the votes when the state is
+     * read.
+     *
+     * @param algorithm the algorithm creating the states
+     * @return a codec for the state of the algorithm
+     */
+    public static StateCodec<LastVoteWinsTallyAlgorithm.State> lastVoteWins(final LastVoteWinsTallyAlgorithm<?, ?> algorithm) {
+        return new StateCodec<LastVoteWinsTallyAlgorithm.State>() {
+
+            @Override
+            public void encode(final LastVoteWinsTallyAlgorithm.State state, final DataOutput output) throws IOException {
+                output.writeLong(state.getVotes().size());
+                try {
+                    state.getVotes().forEachTimed((user, item, vote, time) -> {
+                        try {
+                            output.writeLong(user);
+                            output.writeLong(item);
+                            output.writeInt(vote);
+                            output.writeLong(time);
+                        } catch (final IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (final UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+
+            @Override
+            public LastVoteWinsTallyAlgorithm.State decode(final DataInput input) throws IOException {
+                final LastVoteWinsTallyAlgorithm.State state = algorithm.createState();
+                for (long i = input.readLong(); i > 0; i--) {
+                    state.cast(input.readLong(), input.readLong(), input.readInt(), input.readLong());
+                }
+                return state;
+            }
+        };
+    }
+
+    /**
+     * Creates a codec for a list, such as the weights of a weighted tally.
+     *
+     * @param element the codec of each element
+     * @param <T> the type of the elements
+     * @return a codec for a list of the elements
+     */
+    public static <T> StateCodec<List<T>> list(final StateCodec<T> element) {
+        return new StateCodec<List<T>>() {
+
+            @Override
+            public void encode(final List<T> state, final DataOutput output) throws IOException {
+                output.writeInt(state.size());
+                for (final T value : state) {
+                    element.encode(value, output);
+                }
+            }
+
+            @Override
+            public List<T> decode(final DataInput input) throws IOException {
+                final int size = input.readInt();
+                final List<T> state = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    state.add(element.decode(input));
+                }
+                return state;
+            }
+        };
+    }
+}
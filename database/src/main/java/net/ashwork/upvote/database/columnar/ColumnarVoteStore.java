@@ -0,0 +1,465 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.columnar;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.database.domain.dao.PositionedGetDao;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.PrimitiveTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory domain access object which stores votes as columns rather than
+ * as objects. The users, items, votes, and times are each held within their
+ * own primitive arrays, so a vote takes 28 bytes with no object header and a
+ * scan over the table reads memory sequentially.
+ *
+ * <p>Each column is split into fixed-size chunks. When the table is full a
+ * new chunk is allocated, so growing never copies the votes already stored.
+ *
+ * <p>Entries are only created when read through the {@link PositionedGetDao}
+ * or {@link ItemGetDao} methods. Tallies should instead use
+ * {@link #accumulate(PrimitiveTallyAlgorithm, Object)} or
+ * {@link #score(LongLongHashMap)}, which read the columns directly.
+ *
+ * @apiNote
+ * Inserts are serialized while reads never block. A reader sees every vote
+ * inserted before it started, but may or may not see votes inserted while it
+ * is running. The id of an inserted vote is its position within the table.
+ *
+ * @since 1.1.0
+ */
+public final class ColumnarVoteStore implements InsertDao<PrimitiveVoteEntry>, PositionedGetDao<PrimitiveVoteEntry>, ItemGetDao<Long, PrimitiveVoteEntry> {
+
+    /**
+     * The default number of votes held within a single chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final Object insertLock;
+    /*
+     * The columns are replaced whenever a chunk is added. Readers read the
+     * size before the columns, so the columns they see always hold every
+     * chunk the size covers.
+     */
+    private volatile Columns columns;
+    private volatile int size;
+
+    /**
+     * A simple constructor using chunks of the default size.
+     */
+    public ColumnarVoteStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * A constructor which specifies the number of votes held within a chunk.
+     *
+     * @param chunkSize the number of votes held within a chunk
+     * @throws IllegalArgumentException if the chunk size is not a positive
+     *                                  power of two
+     */
+    public ColumnarVoteStore(final int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("The chunk size must be a positive power of two");
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        this.insertLock = new Object();
+        this.columns = new Columns(0);
+    }
+
+    @Override
+    public int insert(final PrimitiveVoteEntry dbo) {
+        synchronized (this.insertLock) {
+            final int index = this.size;
+            this.append(index, dbo.getUserAsLong(), dbo.getItemAsLong(), dbo.getVoteAsInt(), dbo.getTimeAsLong());
+            this.size = index + 1;
+            return index;
+        }
+    }
+
+    /**
+     * Inserts a single vote into the table without creating an entry.
+     *
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     * @return the id of the inserted vote
+     */
+    public int insert(final long user, final long item, final int vote, final long time) {
+        synchronized (this.insertLock) {
+            final int index = this.size;
+            this.append(index, user, item, vote, time);
+            this.size = index + 1;
+            return index;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The votes are published to readers together once all have been written.
+     */
+    @Override
+    public void insertAll(final List<PrimitiveVoteEntry> dbos) {
+        synchronized (this.insertLock) {
+            int index = this.size;
+            for (final PrimitiveVoteEntry dbo : dbos) {
+                this.append(index++, dbo.getUserAsLong(), dbo.getItemAsLong(), dbo.getVoteAsInt(), dbo.getTimeAsLong());
+            }
+            this.size = index;
+        }
+    }
+
+    /**
+     * Gets the number of votes within the table.
+     *
+     * @return the number of votes within the table
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public List<PrimitiveVoteEntry> getAll() {
+        final int end = this.size;
+        final Columns columns = this.columns;
+        final List<PrimitiveVoteEntry> dbos = new ArrayList<>(end);
+        for (int i = 0; i < end; i++) {
+            dbos.add(this.entry(columns, i));
+        }
+        return dbos;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The fetch size is ignored as entries are created lazily from the
+     * columns.
+     */
+    @Override
+    public Stream<PrimitiveVoteEntry> streamAll(final int fetchSize) {
+        return this.streamFrom(0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The position is the number of votes within the table.
+     */
+    @Override
+    public long position() {
+        return this.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The stream ends at the number of votes within the table when it was
+     * created.
+     *
+     * @throws IllegalArgumentException if the position is outside the table
+     */
+    @Override
+    public Stream<PrimitiveVoteEntry> streamFrom(final long position) {
+        final int end = this.size;
+        if (position < 0 || position > end) {
+            throw new IllegalArgumentException("The position " + position + " is outside the table");
+        }
+        final Columns columns = this.columns;
+        return IntStream.range((int) position, end).mapToObj(i -> this.entry(columns, i));
+    }
+
+    @Override
+    public List<PrimitiveVoteEntry> getAllByItem(final Long item) {
+        final long target = item;
+        final int end = this.size;
+        final Columns columns = this.columns;
+        final List<PrimitiveVoteEntry> dbos = new ArrayList<>();
+        for (int chunk = 0, start = 0; start < end; chunk++, start += this.chunkMask + 1) {
+            final long[] items = columns.items[chunk];
+            final int length = Math.min(end - start, items.length);
+            for (int i = 0; i < length; i++) {
+                if (items[i] == target) {
+                    dbos.add(this.entry(columns, start + i));
+                }
+            }
+        }
+        return dbos;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The table is scanned once for all the items together, with each vote
+     * matched by a binary search over the sorted items.
+     */
+    @Override
+    public List<PrimitiveVoteEntry> getAllByItems(final Collection<Long> items) {
+        final long[] targets = new long[items.size()];
+        int index = 0;
+        for (final Long item : items) {
+            targets[index++] = item;
+        }
+        Arrays.sort(targets);
+        final int end = this.size;
+        final Columns columns = this.columns;
+        final List<PrimitiveVoteEntry> dbos = new ArrayList<>();
+        for (int chunk = 0, start = 0; start < end; chunk++, start += this.chunkMask + 1) {
+            final long[] chunkItems = columns.items[chunk];
+            final int length = Math.min(end - start, chunkItems.length);
+            for (int i = 0; i < length; i++) {
+                if (Arrays.binarySearch(targets, chunkItems[i]) >= 0) {
+                    dbos.add(this.entry(columns, start + i));
+                }
+            }
+        }
+        return dbos;
+    }
+
+    /**
+     * Folds every vote within the table into the running state of the tally,
+     * reading the columns directly.
+     *
+     * @param algorithm the algorithm tallying the votes
+     * @param state the running state of the tally
+     * @param <STATE> the type of the running state of the tally
+     */
+    public <STATE> void accumulate(final PrimitiveTallyAlgorithm<STATE, ?> algorithm, final STATE state) {
+        this.accumulate(algorithm, state, 0, this.size);
+    }
+
+    /**
+     * Folds the votes between two positions within the table into the running
+     * state of the tally, reading the columns directly. Disjoint ranges can be
+     * accumulated by separate threads into separate states.
+     *
+     * @param algorithm the algorithm tallying the votes
+     * @param state the running state of the tally
+     * @param from the position of the first vote, inclusive
+     * @param to the position of the last vote, exclusive
+     * @param <STATE> the type of the running state of the tally
+     * @throws IndexOutOfBoundsException if the range is not within the table
+     */
+    public <STATE> void accumulate(final PrimitiveTallyAlgorithm<STATE, ?> algorithm, final STATE state, final int from, final int to) {
+        if (from < 0 || from > to || to > this.size) {
+            throw new IndexOutOfBoundsException("The range [" + from + ", " + to + ") is not within the table");
+        }
+        final Columns columns = this.columns;
+        int position = from;
+        while (position < to) {
+            final int chunk = position >>> this.chunkShift;
+            final int offset = position & this.chunkMask;
+            final int length = Math.min(to - position, this.chunkMask + 1 - offset);
+            final long[] users = columns.users[chunk];
+            final long[] items = columns.items[chunk];
+            final int[] votes = columns.votes[chunk];
+            final long[] times = columns.times[chunk];
+            for (int i = offset, end = offset + length; i < end; i++) {
+                algorithm.accumulate(state, users[i], items[i], votes[i], times[i]);
+            }
+            position += length;
+        }
+    }
+
+    /**
+     * Adds every vote within the table to the score of its item.
+     *
+     * @param scores the scores of each item to add to
+     */
+    public void score(final LongLongHashMap scores) {
+        final int end = this.size;
+        final Columns columns = this.columns;
+        for (int chunk = 0, start = 0; start < end; chunk++, start += this.chunkMask + 1) {
+            final long[] items = columns.items[chunk];
+            final int[] votes = columns.votes[chunk];
+            final int length = Math.min(end - start, items.length);
+            for (int i = 0; i < length; i++) {
+                scores.addTo(items[i], votes[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the sum of every vote on an item.
+     *
+     * @implNote
+     * The inner loop is branch-free over two primitive arrays, which allows
+     * the compiler to vectorize it.
+     *
+     * @param item the item whose score is computed
+     * @return the sum of every vote on the item
+     */
+    public long score(final long item) {
+        final int end = this.size;
+        final Columns columns = this.columns;
+        long score = 0L;
+        for (int chunk = 0, start = 0; start < end; chunk++, start += this.chunkMask + 1) {
+            final long[] items = columns.items[chunk];
+            final int[] votes = columns.votes[chunk];
+            final int length = Math.min(end - start, items.length);
+            for (int i = 0; i < length; i++) {
+                score += items[i] == item ? votes[i] : 0;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Gets the sum of every vote within the table.
+     *
+     * @implNote
+     * The inner loop reads a single primitive array, which allows the
+     * compiler to vectorize it.
+     *
+     * @return the sum of every vote within the table
+     */
+    public long sum() {
+        final int end = this.size;
+        final Columns columns = this.columns;
+        long sum = 0L;
+        for (int chunk = 0, start = 0; start < end; chunk++, start += this.chunkMask + 1) {
+            final int[] votes = columns.votes[chunk];
+            final int length = Math.min(end - start, votes.length);
+            for (int i = 0; i < length; i++) {
+                sum += votes[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Writes a vote to the columns, adding a chunk if necessary. This must be
+     * called while holding the insert lock.
+     *
+     * @param index the position of the vote
+     * @param user the user who made the vote
+     * @param item the item being voted on
+     * @param vote the vote cast by the user
+     * @param time the time the vote was made
+     */
+    private void append(final int index, final long user, final long item, final int vote, final long time) {
+        if (index == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The table cannot hold any more votes");
+        }
+        final int chunk = index >>> this.chunkShift;
+        Columns columns = this.columns;
+        if (chunk == columns.chunks) {
+            this.columns = columns = columns.grow(this.chunkMask + 1);
+        }
+        final int offset = index & this.chunkMask;
+        columns.users[chunk][offset] = user;
+        columns.items[chunk][offset] = item;
+        columns.votes[chunk][offset] = vote;
+        columns.times[chunk][offset] = time;
+    }
+
+    /**
+     * Creates an entry from the vote at a position within the columns.
+     *
+     * @param columns the columns holding the vote
+     * @param index the position of the vote
+     * @return an entry holding the vote
+     */
+    private PrimitiveVoteEntry entry(final Columns columns, final int index) {
+        final int chunk = index >>> this.chunkShift;
+        final int offset = index & this.chunkMask;
+        return PrimitiveVoteEntry.of(columns.users[chunk][offset], columns.items[chunk][offset], columns.votes[chunk][offset], columns.times[chunk][offset]);
+    }
+
+    /**
+     * The chunks of each column. The chunk arrays are only ever replaced by
+     * larger copies, while the chunks themselves are shared between copies.
+     */
+    private static final class Columns {
+
+        private final int chunks;
+        private final long[][] users;
+        private final long[][] items;
+        private final int[][] votes;
+        private final long[][] times;
+
+        /**
+         * A simple constructor.
+         *
+         * @param capacity the number of chunks the columns can reference
+         */
+        private Columns(final int capacity) {
+            this(0, new long[capacity][], new long[capacity][], new int[capacity][], new long[capacity][]);
+        }
+
+        /**
+         * A constructor which specifies the chunks of each column.
+         *
+         * @param chunks the number of allocated chunks
+         * @param users the chunks of users
+         * @param items the chunks of items
+         * @param votes the chunks of votes
+         * @param times the chunks of times
+         */
+        private Columns(final int chunks, final long[][] users, final long[][] items, final int[][] votes, final long[][] times) {
+            this.chunks = chunks;
+            this.users = users;
+            this.items = items;
+            this.votes = votes;
+            this.times = times;
+        }
+
+        /**
+         * Creates a copy of these columns with one more chunk.
+         *
+         * @param chunkSize the number of votes held within a chunk
+         * @return the grown columns
+         */
+        private Columns grow(final int chunkSize) {
+            final int capacity = this.chunks < this.users.length ? this.users.length : Math.max(4, this.users.length * 2);
+            final Columns grown = new Columns(this.chunks + 1, Arrays.copyOf(this.users, capacity), Arrays.copyOf(this.items, capacity),
+                    Arrays.copyOf(this.votes, capacity), Arrays.copyOf(this.times, capacity));
+            grown.users[this.chunks] = new long[chunkSize];
+            grown.items[this.chunks] = new long[chunkSize];
+            grown.votes[this.chunks] = new int[chunkSize];
+            grown.times[this.chunks] = new long[chunkSize];
+            return grown;
+        }
+    }
+}
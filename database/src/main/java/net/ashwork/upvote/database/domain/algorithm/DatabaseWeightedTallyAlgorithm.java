@@ -28,13 +28,18 @@ package net.ashwork.upvote.database.domain.algorithm;
 import net.ashwork.upvote.database.domain.dao.GetDao;
 import net.ashwork.upvote.database.domain.dao.InsertDao;
 import net.ashwork.upvote.database.util.DatabaseHelper;
-import net.ashwork.upvote.database.util.ExceptionHelper;
 import net.ashwork.upvote.domain.algorithm.WeightedTallyAlgorithm;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * An algorithm used to tally all or a specific subset of entries with some
@@ -42,6 +47,15 @@ import java.util.function.Supplier;
  * The result of the supplied algorithm will then be persisted to some table
  * containing the weights.
  *
+ * <p>The weights last read from or written to the table are kept as an
+ * immutable {@link Snapshot}. The table is only read again once the snapshot
+ * has been {@linkplain #invalidate() invalidated} or is older than the
+ * maximum staleness.
+ *
+ * @apiNote
+ * The weights passed to the supplied algorithm are unmodifiable as they may
+ * be shared by concurrent tallies.
+ *
  * @param <ENTRY> the type of the entry data
  * @param <WEIGHT> the type of the weights on the data
  * @param <RESPONSE> the type of the response to the tally
@@ -49,33 +63,248 @@ import java.util.function.Supplier;
  */
 public class DatabaseWeightedTallyAlgorithm<ENTRY, WEIGHT, DAO extends InsertDao<WEIGHT> & GetDao<WEIGHT>, RESPONSE> implements WeightedTallyAlgorithm<ENTRY, WEIGHT, RESPONSE> {
 
-    private final DAO dao;
-    private final Supplier<RESPONSE> persistAllSuccess;
-    private final Function<Throwable, RESPONSE> throwingError;
+    protected final DAO dao;
+    protected final Supplier<RESPONSE> persistAllSuccess;
+    protected final Function<Throwable, RESPONSE> throwingError;
     private final WeightedTallyAlgorithm<ENTRY, WEIGHT, List<WEIGHT>> algorithm;
+    private final long maxStaleness;
+    private final AtomicReference<Snapshot<WEIGHT>> snapshot;
+    private final AtomicLong versions;
 
     /**
      * A simple constructor.
      *
+     * @implNote
+     * The weights are read from the table on every execution unless they are
+     * supplied explicitly.
+     *
      * @param dao the domain access object of the table
      * @param persistAllSuccess a supplied response for successful insertions of the weights
      * @param throwingError a function to convert a thrown throwable to a response
      * @param algorithm an algorithm to calculate the new weights of the tally
      */
     public DatabaseWeightedTallyAlgorithm(final DAO dao, final Supplier<RESPONSE> persistAllSuccess, final Function<Throwable, RESPONSE> throwingError, final WeightedTallyAlgorithm<ENTRY, WEIGHT, List<WEIGHT>> algorithm) {
+        this(dao, persistAllSuccess, throwingError, algorithm, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A constructor which reuses the snapshot of the weights until it is older
+     * than the specified staleness.
+     *
+     * @param dao the domain access object of the table
+     * @param persistAllSuccess a supplied response for successful insertions of the weights
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param algorithm an algorithm to calculate the new weights of the tally
+     * @param maxStaleness the maximum age of a snapshot before the table is read again,
+     *                     or {@link Long#MAX_VALUE} to only read after invalidation
+     * @param unit the unit of the maximum staleness
+     * @throws IllegalArgumentException if the maximum staleness is negative
+     * @since 1.1.0
+     */
+    public DatabaseWeightedTallyAlgorithm(final DAO dao, final Supplier<RESPONSE> persistAllSuccess, final Function<Throwable, RESPONSE> throwingError, final WeightedTallyAlgorithm<ENTRY, WEIGHT, List<WEIGHT>> algorithm, final long maxStaleness, final TimeUnit unit) {
+        if (maxStaleness < 0) {
+            throw new IllegalArgumentException("The maximum staleness cannot be negative");
+        }
         this.dao = dao;
         this.persistAllSuccess = persistAllSuccess;
         this.throwingError = throwingError;
         this.algorithm = algorithm;
+        this.maxStaleness = unit.toNanos(maxStaleness);
+        this.snapshot = new AtomicReference<>();
+        this.versions = new AtomicLong();
     }
 
     @Override
     public RESPONSE execute(List<ENTRY> entries) {
-        return this.execute(entries, ExceptionHelper.getOrDefault(this.dao::getAll, Collections::emptyList));
+        final Snapshot<WEIGHT> current = this.currentSnapshot();
+        return this.persist(this.algorithm.execute(entries, current.weights), current);
     }
 
     @Override
     public RESPONSE execute(List<ENTRY> entries, List<WEIGHT> weights) {
-        return DatabaseHelper.persistToDatabase(this.dao, this.algorithm.execute(entries, weights), this.persistAllSuccess, this.throwingError);
+        return this.persist(this.algorithm.execute(entries, weights), this.snapshot.get());
+    }
+
+    @Override
+    public RESPONSE execute(Stream<ENTRY> entries) {
+        final Snapshot<WEIGHT> current = this.currentSnapshot();
+        return this.persist(this.algorithm.execute(entries, current.weights), current);
+    }
+
+    @Override
+    public RESPONSE execute(Stream<ENTRY> entries, List<WEIGHT> weights) {
+        return this.persist(this.algorithm.execute(entries, weights), this.snapshot.get());
+    }
+
+    /**
+     * Discards the snapshot of the weights such that the next execution reads
+     * the weights from the table again.
+     *
+     * @since 1.1.0
+     */
+    public void invalidate() {
+        this.snapshot.set(null);
+    }
+
+    /**
+     * Gets the snapshot of the weights last read from or written to the table.
+     *
+     * @return the current snapshot, or empty if there is none
+     * @since 1.1.0
+     */
+    public Optional<Snapshot<WEIGHT>> getSnapshot() {
+        return Optional.ofNullable(this.snapshot.get());
+    }
+
+    /**
+     * Persists the newly calculated weights to the table and updates the
+     * current snapshot if successful.
+     *
+     * @implSpec
+     * The default implementation appends the weights to the table, so the
+     * weights are appended to the previous snapshot in the same manner after
+     * a successful insertion without reading the table again. The result is
+     * only published if the previous snapshot is still current; otherwise,
+     * or if there was no previous snapshot, the snapshot is invalidated so
+     * the next execution reads the table. The appended snapshot keeps the
+     * creation time of the previous snapshot, so the table is still read
+     * again once the weights last read from it are older than the maximum
+     * staleness.
+     *
+     * @param weights the newly calculated weights
+     * @param previous the snapshot the weights were calculated from, or
+     *                 {@code null} if there was none
+     * @return the response created as a result of the insertions
+     * @since 1.1.0
+     */
+    protected RESPONSE persist(final List<WEIGHT> weights, final Snapshot<WEIGHT> previous) {
+        return DatabaseHelper.persistToDatabase(this.dao, weights, () -> {
+            this.append(weights, previous);
+            return this.persistAllSuccess.get();
+        }, this.throwingError);
+    }
+
+    /**
+     * Publishes the previous snapshot followed by the inserted weights as the
+     * current snapshot if the previous snapshot is still current. Otherwise,
+     * the snapshot is invalidated.
+     *
+     * @param weights the weights appended to the table
+     * @param previous the snapshot the weights were calculated from, or
+     *                 {@code null} if there was none
+     */
+    private void append(final List<WEIGHT> weights, final Snapshot<WEIGHT> previous) {
+        if (previous == null) {
+            this.invalidate();
+            return;
+        }
+        final List<WEIGHT> table = new ArrayList<>(previous.weights.size() + weights.size());
+        table.addAll(previous.weights);
+        table.addAll(weights);
+        if (!this.snapshot.compareAndSet(previous, new Snapshot<>(Collections.unmodifiableList(table), this.versions.incrementAndGet(), previous.createdAt))) {
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Publishes the weights as the current snapshot.
+     *
+     * @param weights the weights within the table
+     * @since 1.1.0
+     */
+    protected final void publish(final List<WEIGHT> weights) {
+        this.snapshot.set(this.createSnapshot(weights));
+    }
+
+    /**
+     * Gets the current snapshot, reading the weights from the table if the
+     * snapshot is missing or stale.
+     *
+     * @implNote
+     * A snapshot read from the table is only published if no other snapshot
+     * was published while reading, so an older read cannot replace newer
+     * weights. If the table cannot be read, the stale snapshot is used if
+     * present; otherwise, no weights are used. The failure is not cached.
+     *
+     * @return the current snapshot of the weights
+     */
+    private Snapshot<WEIGHT> currentSnapshot() {
+        final Snapshot<WEIGHT> current = this.snapshot.get();
+        if (current != null && System.nanoTime() - current.createdAt < this.maxStaleness) {
+            return current;
+        }
+        final List<WEIGHT> weights;
+        try {
+            weights = this.dao.getAll();
+        } catch (final Throwable t) {
+            return current != null ? current : new Snapshot<>(Collections.emptyList(), 0L, System.nanoTime());
+        }
+        final Snapshot<WEIGHT> loaded = this.createSnapshot(weights);
+        this.snapshot.compareAndSet(current, loaded);
+        return loaded;
+    }
+
+    /**
+     * Creates a snapshot of the weights with the next version.
+     *
+     * @param weights the weights within the table
+     * @return a new snapshot of the weights
+     */
+    private Snapshot<WEIGHT> createSnapshot(final List<WEIGHT> weights) {
+        return new Snapshot<>(Collections.unmodifiableList(new ArrayList<>(weights)), this.versions.incrementAndGet(), System.nanoTime());
+    }
+
+    /**
+     * An immutable view of the weights within the table at some point in time.
+     *
+     * @param <WEIGHT> the type of the weights
+     * @since 1.1.0
+     */
+    public static final class Snapshot<WEIGHT> {
+
+        private final List<WEIGHT> weights;
+        private final long version;
+        private final long createdAt;
+
+        /**
+         * A simple constructor.
+         *
+         * @param weights the unmodifiable weights
+         * @param version the version of the snapshot
+         * @param createdAt the time the snapshot was created in nanoseconds
+         */
+        private Snapshot(final List<WEIGHT> weights, final long version, final long createdAt) {
+            this.weights = weights;
+            this.version = version;
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * Gets the weights within the snapshot.
+         *
+         * @return the unmodifiable weights
+         */
+        public List<WEIGHT> getWeights() {
+            return this.weights;
+        }
+
+        /**
+         * Gets the version of the snapshot. Each newly read or written
+         * snapshot has a greater version than the one before it.
+         *
+         * @return the version of the snapshot
+         */
+        public long getVersion() {
+            return this.version;
+        }
+
+        /**
+         * Gets the time the snapshot was created.
+         *
+         * @return the creation time as returned by {@link System#nanoTime()}
+         */
+        public long getCreatedAt() {
+            return this.createdAt;
+        }
     }
 }
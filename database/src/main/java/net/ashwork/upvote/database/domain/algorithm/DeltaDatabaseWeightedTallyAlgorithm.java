@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.domain.algorithm;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.UpdateDao;
+import net.ashwork.upvote.domain.algorithm.WeightedTallyAlgorithm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An implementation of {@link DatabaseWeightedTallyAlgorithm} which only
+ * writes the weights that changed since the previous snapshot. Each newly
+ * calculated weight is matched to its previous weight by key, and only the
+ * weights considered changed are upserted into the table in chunks.
+ *
+ * @apiNote
+ * Weights which are no longer calculated are left within the table. If there
+ * is no previous snapshot, every weight is upserted.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <WEIGHT> the type of the weights on the data
+ * @param <KEY> the type of the key identifying a weight
+ * @param <RESPONSE> the type of the response to the tally
+ * @since 1.1.0
+ */
+public class DeltaDatabaseWeightedTallyAlgorithm<ENTRY, WEIGHT, KEY, DAO extends InsertDao<WEIGHT> & GetDao<WEIGHT> & UpdateDao<WEIGHT>, RESPONSE> extends DatabaseWeightedTallyAlgorithm<ENTRY, WEIGHT, DAO, RESPONSE> {
+
+    /**
+     * The default maximum number of weights upserted at a time.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final Function<WEIGHT, KEY> key;
+    private final BiPredicate<WEIGHT, WEIGHT> changed;
+    private final int chunkSize;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param persistAllSuccess a supplied response for successful upserts of the weights
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param algorithm an algorithm to calculate the new weights of the tally
+     * @param maxStaleness the maximum age of a snapshot before the table is read again
+     * @param unit the unit of the maximum staleness
+     * @param key a function to get the key identifying a weight
+     * @param changed a predicate testing whether the new weight, in the first
+     *                argument, differs from the previous weight, in the second
+     * @param chunkSize the maximum number of weights upserted at a time
+     * @throws IllegalArgumentException if the maximum staleness is negative or
+     *                                  the chunk size is not positive
+     */
+    public DeltaDatabaseWeightedTallyAlgorithm(final DAO dao, final Supplier<RESPONSE> persistAllSuccess, final Function<Throwable, RESPONSE> throwingError, final WeightedTallyAlgorithm<ENTRY, WEIGHT, List<WEIGHT>> algorithm, final long maxStaleness, final TimeUnit unit, final Function<WEIGHT, KEY> key, final BiPredicate<WEIGHT, WEIGHT> changed, final int chunkSize) {
+        super(dao, persistAllSuccess, throwingError, algorithm, maxStaleness, unit);
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+        this.key = key;
+        this.changed = changed;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates a predicate which considers a weight changed when its value has
+     * moved further than the tolerance from the previous value.
+     *
+     * @param value a function to get the value of a weight
+     * @param tolerance the maximum absolute difference of an unchanged weight
+     * @param <WEIGHT> the type of the weights
+     * @return a predicate testing whether the new weight differs from the previous
+     */
+    public static <WEIGHT> BiPredicate<WEIGHT, WEIGHT> beyondTolerance(final ToDoubleFunction<WEIGHT> value, final double tolerance) {
+        return (current, previous) -> Math.abs(value.applyAsDouble(current) - value.applyAsDouble(previous)) > tolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The published snapshot keeps the previous value of any weight which was
+     * not considered changed, so small differences cannot accumulate unseen.
+     * If a chunk fails to upsert, the snapshot is invalidated as the earlier
+     * chunks may have been written.
+     */
+    @Override
+    protected RESPONSE persist(final List<WEIGHT> weights, final Snapshot<WEIGHT> previous) {
+        final Map<KEY, WEIGHT> table = new LinkedHashMap<>();
+        if (previous != null) {
+            for (final WEIGHT weight : previous.getWeights()) {
+                table.put(this.key.apply(weight), weight);
+            }
+        }
+        final List<WEIGHT> delta = new ArrayList<>();
+        for (final WEIGHT weight : weights) {
+            final KEY key = this.key.apply(weight);
+            final WEIGHT old = table.get(key);
+            if (old == null || this.changed.test(weight, old)) {
+                table.put(key, weight);
+                delta.add(weight);
+            }
+        }
+
+        try {
+            for (int start = 0; start < delta.size(); start += this.chunkSize) {
+                this.dao.upsertAll(delta.subList(start, Math.min(start + this.chunkSize, delta.size())));
+            }
+        } catch (final Throwable t) {
+            this.invalidate();
+            return this.throwingError.apply(t);
+        }
+        this.publish(new ArrayList<>(table.values()));
+        return this.persistAllSuccess.get();
+    }
+}
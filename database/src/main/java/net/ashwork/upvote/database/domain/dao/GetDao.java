@@ -26,6 +26,7 @@
 package net.ashwork.upvote.database.domain.dao;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A domain access object for grabbing data from a table.
@@ -35,6 +36,14 @@ import java.util.List;
  */
 public interface GetDao<DBO> {
 
+    /**
+     * The number of rows fetched from the table at a time when no fetch size
+     * is specified.
+     *
+     * @since 1.1.0
+     */
+    int DEFAULT_FETCH_SIZE = 1000;
+
     /**
      * Gets all entries within the table.
      *
@@ -43,4 +52,39 @@ public interface GetDao<DBO> {
      *                   table entries
      */
     List<DBO> getAll() throws Throwable;
+
+    /**
+     * Streams all entries within the table, fetching at most {@code fetchSize}
+     * rows at a time from the underlying store.
+     *
+     * @apiNote
+     * The returned stream may hold onto a cursor or connection and should be
+     * closed once consumed, such as by using a try-with-resources statement.
+     *
+     * @implSpec
+     * The default implementation streams the result of {@link #getAll()} and
+     * so still materializes the entire table. Implementations backed by a
+     * cursor should override this method.
+     *
+     * @param fetchSize the maximum number of rows to fetch at a time
+     * @return a stream of all entries within the table
+     * @throws Throwable if an error occurred while trying to open the stream
+     * @since 1.1.0
+     */
+    default Stream<DBO> streamAll(final int fetchSize) throws Throwable {
+        return this.getAll().stream();
+    }
+
+    /**
+     * Streams all entries within the table using the
+     * {@linkplain #DEFAULT_FETCH_SIZE default fetch size}.
+     *
+     * @return a stream of all entries within the table
+     * @throws Throwable if an error occurred while trying to open the stream
+     * @see #streamAll(int)
+     * @since 1.1.0
+     */
+    default Stream<DBO> streamAll() throws Throwable {
+        return this.streamAll(DEFAULT_FETCH_SIZE);
+    }
 }
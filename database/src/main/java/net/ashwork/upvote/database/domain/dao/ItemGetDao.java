@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.domain.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A domain access object for grabbing the votes on specific items from a
+ * table, such as by using an index on the item column.
+ *
+ * @param <ITEM> the type of the item
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public interface ItemGetDao<ITEM, DBO> {
+
+    /**
+     * Gets all entries on an item within the table.
+     *
+     * @param item the item whose entries are grabbed
+     * @return a list of all entries on the item within the table
+     * @throws Throwable if an error occurred while trying to grab the
+     *                   table entries
+     */
+    List<DBO> getAllByItem(final ITEM item) throws Throwable;
+
+    /**
+     * Gets all entries on the specified items within the table.
+     *
+     * @implSpec
+     * The default implementation grabs the entries of each item separately.
+     * Implementations which can look up many items at once should override
+     * this method.
+     *
+     * @param items the items whose entries are grabbed
+     * @return a list of all entries on the items within the table
+     * @throws Throwable if an error occurred while trying to grab the
+     *                   table entries
+     */
+    default List<DBO> getAllByItems(final Collection<ITEM> items) throws Throwable {
+        final List<DBO> dbos = new ArrayList<>();
+        for (final ITEM item : items) {
+            dbos.addAll(this.getAllByItem(item));
+        }
+        return dbos;
+    }
+
+    /**
+     * Creates a domain access object which grabs the entries on items by
+     * scanning every entry of a table, for tables without an index on the
+     * item column.
+     *
+     * @apiNote
+     * Each lookup streams the entire table, so this should only be used when
+     * tallies on specific items are rare or the table is small.
+     *
+     * @param dao the domain access object of the table
+     * @param item a function to get the item of a database object
+     * @param <ITEM> the type of the item
+     * @param <DBO> the type of the database object
+     * @return a domain access object which scans the table for items
+     */
+    static <ITEM, DBO> ItemGetDao<ITEM, DBO> scanning(final GetDao<DBO> dao, final Function<DBO, ITEM> item) {
+        return new ItemGetDao<ITEM, DBO>() {
+
+            @Override
+            public List<DBO> getAllByItem(final ITEM target) throws Throwable {
+                try (final Stream<DBO> dbos = dao.streamAll()) {
+                    return dbos.filter(dbo -> target.equals(item.apply(dbo))).collect(Collectors.toList());
+                }
+            }
+
+            @Override
+            public List<DBO> getAllByItems(final Collection<ITEM> items) throws Throwable {
+                final Set<ITEM> targets = new HashSet<>(items);
+                try (final Stream<DBO> dbos = dao.streamAll()) {
+                    return dbos.filter(dbo -> targets.contains(item.apply(dbo))).collect(Collectors.toList());
+                }
+            }
+        };
+    }
+}
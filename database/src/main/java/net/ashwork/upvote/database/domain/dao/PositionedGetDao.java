@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.domain.dao;
+
+import java.util.stream.Stream;
+
+/**
+ * A domain access object for a table whose entries are ordered by some
+ * position, such as an append-only log, allowing only the entries after a
+ * known position to be read.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public interface PositionedGetDao<DBO> extends GetDao<DBO> {
+
+    /**
+     * Gets the position after the last entry within the table.
+     *
+     * @return the current position of the table
+     * @throws Throwable if an error occurred while trying to read the position
+     */
+    long position() throws Throwable;
+
+    /**
+     * Streams every entry after the specified position in order.
+     *
+     * @param position a position previously returned by {@link #position()}
+     * @return a stream of the entries after the position
+     * @throws Throwable if an error occurred while trying to grab the table
+     *                   entries
+     */
+    Stream<DBO> streamFrom(final long position) throws Throwable;
+}
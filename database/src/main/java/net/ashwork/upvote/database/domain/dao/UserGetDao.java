@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.domain.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A domain access object for grabbing the latest entry of specific users from
+ * a table, such as by using an index on the user column.
+ *
+ * @param <USER> the type of the user
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public interface UserGetDao<USER, DBO> {
+
+    /**
+     * Gets the latest entry of a user within the table.
+     *
+     * @param user the user whose entry is grabbed
+     * @return the latest entry of the user, or empty if the user has none
+     * @throws Throwable if an error occurred while trying to grab the
+     *                   table entry
+     */
+    Optional<DBO> getLatestByUser(final USER user) throws Throwable;
+
+    /**
+     * Gets the latest entry of each of the specified users within the table.
+     *
+     * @implSpec
+     * The default implementation grabs the entry of each user separately.
+     * Implementations which can look up many users at once should override
+     * this method.
+     *
+     * @param users the users whose entries are grabbed
+     * @return a map of each user with an entry to their latest entry
+     * @throws Throwable if an error occurred while trying to grab the
+     *                   table entries
+     */
+    default Map<USER, DBO> getLatestByUsers(final Collection<USER> users) throws Throwable {
+        final Map<USER, DBO> dbos = new HashMap<>(users.size());
+        for (final USER user : users) {
+            final Optional<DBO> dbo = this.getLatestByUser(user);
+            if (dbo.isPresent()) {
+                dbos.put(user, dbo.get());
+            }
+        }
+        return dbos;
+    }
+}
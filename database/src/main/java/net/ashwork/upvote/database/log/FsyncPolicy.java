@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.log;
+
+/**
+ * A policy deciding when records appended to a {@link LogDao} are forced to
+ * the storage device.
+ *
+ * @since 1.1.0
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Every insertion returns once its records have been forced. Concurrent
+     * insertions share a single force, committing them as a group.
+     */
+    ALWAYS,
+
+    /**
+     * Records are forced periodically in the background, so an insertion can
+     * be lost if the machine fails within the interval.
+     */
+    INTERVAL,
+
+    /**
+     * Records are only forced when the log is closed,
+     * leaving the rest to the operating system.
+     */
+    NEVER
+}
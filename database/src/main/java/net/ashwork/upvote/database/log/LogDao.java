@@ -0,0 +1,607 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.log;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.PositionedGetDao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * A domain access object which stores its table as an append-only log on
+ * local disk. The log is split into fixed-size segment files which are
+ * written through memory mappings, so appending a record is a copy into
+ * memory and reading the log is a sequential scan.
+ *
+ * <p>Each record is framed by its length and a CRC-32 checksum of its bytes.
+ * When the log is opened, every segment is scanned and anything after the
+ * first invalid record, such as a write torn by a crash, is discarded.
+ *
+ * <p>Segment files are named by the position of their start padded to twenty
+ * digits. Any other file within the directory is ignored. The size of a
+ * segment is not stored within the log, so the log must always be opened
+ * with the segment size it was created with; a mismatch is detected from the
+ * lengths of the existing files.
+ *
+ * <p>Positions within the log are byte offsets. {@link #position()} returns
+ * the end of the last appended record, which can later be passed to
+ * {@link #streamFrom(long)} to read only the records appended afterwards.
+ *
+ * @apiNote
+ * The log must only be opened by one instance at a time. Mapped segments are
+ * released by the garbage collector, so the files may stay mapped for a
+ * while after {@link #close()}.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public final class LogDao<DBO> implements InsertDao<DBO>, PositionedGetDao<DBO>, AutoCloseable {
+
+    /**
+     * The default size of a segment file in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    private static final int HEADER = Integer.BYTES + Integer.BYTES;
+    private static final String EXTENSION = ".log";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}" + Pattern.quote(EXTENSION));
+
+    private final Path directory;
+    private final RecordSerializer<DBO> serializer;
+    private final int segmentSize;
+    private final FsyncPolicy policy;
+    private final List<Segment> segments;
+    private final CRC32 checksum;
+    private final Lock appendLock;
+    private final Object syncLock;
+    private final ScheduledExecutorService syncer;
+    private volatile Segment current;
+    private volatile long position;
+    private long records;
+    private long synced;
+    private boolean syncing;
+    private boolean closed;
+
+    /**
+     * A simple constructor which forces every insertion to disk using
+     * segments of the default size.
+     *
+     * @param directory the directory holding the segment files
+     * @param serializer the serializer of the database objects
+     * @throws IOException if the segment files cannot be opened
+     */
+    public LogDao(final Path directory, final RecordSerializer<DBO> serializer) throws IOException {
+        this(directory, serializer, DEFAULT_SEGMENT_SIZE, FsyncPolicy.ALWAYS, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * A constructor which specifies the size of the segments and when records
+     * are forced to disk.
+     *
+     * @param directory the directory holding the segment files
+     * @param serializer the serializer of the database objects
+     * @param segmentSize the size of a segment file in bytes
+     * @param policy the policy deciding when records are forced to disk
+     * @param syncInterval the time between forces for {@link FsyncPolicy#INTERVAL}
+     * @param unit the unit of the interval
+     * @throws IOException if the segment files cannot be opened or a segment
+     *                     between two existing segments is missing
+     * @throws IllegalArgumentException if the segment size cannot hold a record,
+     *                                  differs from the size of the existing
+     *                                  segments, or the interval is not positive
+     *                                  for {@link FsyncPolicy#INTERVAL}
+     */
+    public LogDao(final Path directory, final RecordSerializer<DBO> serializer, final int segmentSize, final FsyncPolicy policy, final long syncInterval, final TimeUnit unit) throws IOException {
+        if (segmentSize <= HEADER) {
+            throw new IllegalArgumentException("The segment size must be larger than the record header");
+        }
+        if (policy == FsyncPolicy.INTERVAL && syncInterval <= 0) {
+            throw new IllegalArgumentException("The sync interval must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.serializer = serializer;
+        this.segmentSize = segmentSize;
+        this.policy = policy;
+        this.segments = new CopyOnWriteArrayList<>();
+        this.checksum = new CRC32();
+        this.appendLock = new ReentrantLock();
+        this.syncLock = new Object();
+
+        final List<Long> bases = new ArrayList<>();
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + EXTENSION)) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                if (SEGMENT_NAME.matcher(name).matches()) {
+                    bases.add(Long.parseLong(name.substring(0, name.length() - EXTENSION.length())));
+                }
+            }
+        }
+        bases.sort(null);
+        for (int i = 0; i < bases.size(); i++) {
+            final long base = bases.get(i);
+            if (i > 0 && base != bases.get(i - 1) + segmentSize) {
+                throw new IOException("The log is missing the segment after " + this.file(bases.get(i - 1)));
+            }
+            // A crash while creating the last segment may leave it empty
+            final long length = Files.size(this.file(base));
+            if (length != segmentSize && !(length == 0 && i == bases.size() - 1)) {
+                throw new IllegalArgumentException("The segment " + this.file(base) + " holds " + length + " bytes rather than the segment size of " + segmentSize);
+            }
+        }
+        int end = 0;
+        for (final long base : bases) {
+            final Segment segment = new Segment(this.file(base), base, segmentSize);
+            end = this.recover(segment);
+            this.segments.add(segment);
+        }
+        if (this.segments.isEmpty()) {
+            this.segments.add(new Segment(this.file(0L), 0L, segmentSize));
+        }
+        this.current = this.segments.get(this.segments.size() - 1);
+        this.position = this.synced = this.current.base + end;
+
+        if (policy == FsyncPolicy.INTERVAL) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "upvote-log-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.syncer.scheduleWithFixedDelay(() -> this.current.force(), syncInterval, syncInterval, unit);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the one-based number of the record within the log, truncated to
+     *         an {@code int}
+     * @throws InterruptedException if the thread was interrupted while waiting
+     *                              for the record to be forced to disk
+     * @throws IllegalStateException if the log has been closed
+     * @throws IllegalArgumentException if the record is larger than a segment
+     */
+    @Override
+    public int insert(final DBO dbo) throws InterruptedException {
+        final long record;
+        final long end;
+        this.appendLock.lock();
+        try {
+            this.ensureOpen();
+            record = this.append(dbo);
+            end = this.position;
+        } finally {
+            this.appendLock.unlock();
+        }
+        this.commit(end);
+        return (int) record;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Every record is appended before a single force of the log.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     *                              for the records to be forced to disk
+     * @throws IllegalStateException if the log has been closed
+     * @throws IllegalArgumentException if a record is larger than a segment
+     */
+    @Override
+    public void insertAll(final List<DBO> dbos) throws InterruptedException {
+        final long end;
+        this.appendLock.lock();
+        try {
+            this.ensureOpen();
+            for (final DBO dbo : dbos) {
+                this.append(dbo);
+            }
+            end = this.position;
+        } finally {
+            this.appendLock.unlock();
+        }
+        this.commit(end);
+    }
+
+    @Override
+    public List<DBO> getAll() {
+        try (final Stream<DBO> dbos = this.streamFrom(0L)) {
+            return dbos.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The fetch size is ignored as records are read directly from the mapped
+     * segments.
+     */
+    @Override
+    public Stream<DBO> streamAll(final int fetchSize) {
+        return this.streamFrom(0L);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the end of the last appended record
+     */
+    @Override
+    public long position() {
+        return this.position;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The stream ends at the position of the log when it was created.
+     *
+     * @throws IllegalArgumentException if the position is outside the log
+     */
+    @Override
+    public Stream<DBO> streamFrom(final long from) {
+        final long end = this.position;
+        if (from < 0 || from > end) {
+            throw new IllegalArgumentException("The position " + from + " is outside the log");
+        }
+        return StreamSupport.stream(new Reader(from, end), false);
+    }
+
+    /**
+     * Stops accepting records and forces every appended record to disk.
+     *
+     * @throws IOException if a segment file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.appendLock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        } finally {
+            this.appendLock.unlock();
+        }
+        if (this.syncer != null) {
+            this.syncer.shutdown();
+        }
+        for (final Segment segment : this.segments) {
+            segment.force();
+            segment.channel.close();
+        }
+    }
+
+    /**
+     * Appends a record to the current segment, moving to a new segment if the
+     * record does not fit.
+     *
+     * @apiNote
+     * The append lock must be held.
+     *
+     * @param dbo the database object to append
+     * @return the number of records within the log
+     * @throws IllegalArgumentException if the record is larger than a segment
+     * @throws IllegalStateException if the serializer did not write its size
+     */
+    private long append(final DBO dbo) {
+        final int size = this.serializer.sizeOf(dbo);
+        if (size <= 0 || size > this.segmentSize - HEADER) {
+            throw new IllegalArgumentException("A record of " + size + " bytes cannot be stored within a segment");
+        }
+        int offset = (int) (this.position - this.current.base);
+        if (offset + HEADER + size > this.segmentSize) {
+            this.roll();
+            offset = 0;
+        }
+        final int start = offset + HEADER;
+        final int end = start + size;
+        final ByteBuffer writer = this.current.writer;
+        writer.limit(end).position(start);
+        this.serializer.write(dbo, writer);
+        if (writer.position() != end) {
+            throw new IllegalStateException("The serializer wrote " + (writer.position() - start) + " bytes instead of " + size);
+        }
+        writer.position(start);
+        this.checksum.reset();
+        this.checksum.update(writer);
+        writer.putInt(offset + Integer.BYTES, (int) this.checksum.getValue());
+        writer.putInt(offset, size);
+        this.position = this.current.base + end;
+        return ++this.records;
+    }
+
+    /**
+     * Starts a new segment after the current one.
+     *
+     * @apiNote
+     * The append lock must be held. The previous segment is forced first
+     * unless the policy is {@link FsyncPolicy#NEVER}, so that forcing the
+     * current segment always covers the current position.
+     */
+    private void roll() {
+        if (this.policy != FsyncPolicy.NEVER) {
+            this.current.force();
+        }
+        final long base = this.current.base + this.segmentSize;
+        final Segment segment;
+        try {
+            segment = new Segment(this.file(base), base, this.segmentSize);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Could not create a new segment", e);
+        }
+        this.segments.add(segment);
+        this.current = segment;
+        this.position = base;
+    }
+
+    /**
+     * Waits until every record up to the position has been forced to disk if
+     * the policy is {@link FsyncPolicy#ALWAYS}. One waiting thread forces the
+     * log on behalf of every other thread waiting at the time.
+     *
+     * @param end the position which must be forced
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    private void commit(final long end) throws InterruptedException {
+        if (this.policy != FsyncPolicy.ALWAYS) {
+            return;
+        }
+        while (true) {
+            synchronized (this.syncLock) {
+                while (this.synced < end && this.syncing) {
+                    this.syncLock.wait();
+                }
+                if (this.synced >= end) {
+                    return;
+                }
+                this.syncing = true;
+            }
+            // Read the position before the segment; a roll forces the old segment before publishing the new one
+            final long target = this.position;
+            boolean forced = false;
+            try {
+                this.current.force();
+                forced = true;
+            } finally {
+                synchronized (this.syncLock) {
+                    this.syncing = false;
+                    if (forced) {
+                        this.synced = Math.max(this.synced, target);
+                    }
+                    this.syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a segment for valid records and discards anything after them.
+     *
+     * @param segment the segment to recover
+     * @return the end of the last valid record within the segment
+     */
+    private int recover(final Segment segment) {
+        final ByteBuffer view = segment.reader();
+        int offset = 0;
+        while (offset + HEADER <= this.segmentSize) {
+            final int size = view.getInt(offset);
+            if (size <= 0 || size > this.segmentSize - HEADER - offset) {
+                break;
+            }
+            view.limit(offset + HEADER + size).position(offset + HEADER);
+            this.checksum.reset();
+            this.checksum.update(view);
+            view.limit(this.segmentSize);
+            if ((int) this.checksum.getValue() != view.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            offset += HEADER + size;
+            this.records++;
+        }
+
+        // Zero any torn bytes so they are never read as a record
+        boolean torn = false;
+        int i = offset;
+        for (; i < this.segmentSize && (i & (Long.BYTES - 1)) != 0; i++) {
+            torn |= view.get(i) != 0;
+            view.put(i, (byte) 0);
+        }
+        for (; i + Long.BYTES <= this.segmentSize; i += Long.BYTES) {
+            if (view.getLong(i) != 0L) {
+                view.putLong(i, 0L);
+                torn = true;
+            }
+        }
+        for (; i < this.segmentSize; i++) {
+            torn |= view.get(i) != 0;
+            view.put(i, (byte) 0);
+        }
+        if (torn) {
+            segment.force();
+        }
+        return offset;
+    }
+
+    /**
+     * Throws if the log has been closed.
+     *
+     * @throws IllegalStateException if the log has been closed
+     */
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("The log has been closed");
+        }
+    }
+
+    /**
+     * Gets the file of the segment starting at the specified position.
+     *
+     * @param base the position of the start of the segment
+     * @return the file of the segment
+     */
+    private Path file(final long base) {
+        return this.directory.resolve(String.format("%020d%s", base, EXTENSION));
+    }
+
+    /**
+     * A segment file of the log mapped into memory.
+     */
+    private static final class Segment {
+
+        private final long base;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final ByteBuffer writer;
+
+        /**
+         * A simple constructor.
+         *
+         * @param file the segment file
+         * @param base the position of the start of the segment
+         * @param size the size of the segment in bytes
+         * @throws IOException if the file cannot be opened or mapped
+         */
+        private Segment(final Path file, final long base, final int size) throws IOException {
+            this.base = base;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.writer = this.buffer.duplicate();
+        }
+
+        /**
+         * Creates an independent view of the segment for reading.
+         *
+         * @return a new view of the segment
+         */
+        private ByteBuffer reader() {
+            return this.buffer.duplicate();
+        }
+
+        /**
+         * Forces any changes to the segment to disk.
+         */
+        private void force() {
+            this.buffer.force();
+        }
+    }
+
+    /**
+     * A spliterator which reads records sequentially up to a fixed position.
+     */
+    private final class Reader extends Spliterators.AbstractSpliterator<DBO> {
+
+        private final long end;
+        private int index;
+        private ByteBuffer view;
+        private long base;
+        private int offset;
+
+        /**
+         * A simple constructor.
+         *
+         * @param from the position to start reading from
+         * @param end the position to stop reading at
+         */
+        private Reader(final long from, final long end) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.end = end;
+            this.index = -1;
+            final List<Segment> segments = LogDao.this.segments;
+            for (int i = 0; i < segments.size(); i++) {
+                if (segments.get(i).base <= from) {
+                    this.index = i;
+                }
+            }
+            if (this.index >= 0) {
+                final Segment segment = segments.get(this.index);
+                this.view = segment.reader();
+                this.base = segment.base;
+                this.offset = (int) (from - segment.base);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super DBO> action) {
+            while (this.view != null && this.base + this.offset < this.end) {
+                final int size = this.offset + HEADER <= LogDao.this.segmentSize ? this.view.getInt(this.offset) : 0;
+                if (size == 0) {
+                    this.next();
+                    continue;
+                }
+                final int start = this.offset + HEADER;
+                this.view.limit(start + size).position(start);
+                final DBO dbo = LogDao.this.serializer.read(this.view);
+                this.view.limit(LogDao.this.segmentSize);
+                this.offset = start + size;
+                action.accept(dbo);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Moves to the start of the next segment, if any.
+         */
+        private void next() {
+            final List<Segment> segments = LogDao.this.segments;
+            if (++this.index < segments.size()) {
+                final Segment segment = segments.get(this.index);
+                this.view = segment.reader();
+                this.base = segment.base;
+                this.offset = 0;
+            } else {
+                this.view = null;
+            }
+        }
+    }
+}
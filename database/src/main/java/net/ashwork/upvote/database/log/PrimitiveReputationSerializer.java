@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.log;
+
+import net.ashwork.upvote.domain.PrimitiveReputationEntry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link RecordSerializer} which writes a {@link PrimitiveReputationEntry}
+ * as a fixed-size record of its user, reputation, and time.
+ *
+ * @since 1.1.0
+ */
+public final class PrimitiveReputationSerializer implements RecordSerializer<PrimitiveReputationEntry> {
+
+    private static final int SIZE = Long.BYTES + Double.BYTES + Long.BYTES;
+
+    @Override
+    public int sizeOf(final PrimitiveReputationEntry dbo) {
+        return SIZE;
+    }
+
+    @Override
+    public void write(final PrimitiveReputationEntry dbo, final ByteBuffer buffer) {
+        buffer.putLong(dbo.getUserAsLong())
+                .putDouble(dbo.getReputationAsDouble())
+                .putLong(dbo.getTimeAsLong());
+    }
+
+    @Override
+    public PrimitiveReputationEntry read(final ByteBuffer buffer) {
+        final long user = buffer.getLong();
+        final double reputation = buffer.getDouble();
+        return PrimitiveReputationEntry.of(user, reputation, buffer.getLong());
+    }
+}
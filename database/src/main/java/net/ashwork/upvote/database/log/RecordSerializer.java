@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.log;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A serializer which converts database objects to and from the bytes of a
+ * record within a {@link LogDao}.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public interface RecordSerializer<DBO> {
+
+    /**
+     * Gets the number of bytes the database object is serialized to.
+     *
+     * @param dbo the database object
+     * @return the positive number of bytes written by {@link #write(Object, ByteBuffer)}
+     */
+    int sizeOf(final DBO dbo);
+
+    /**
+     * Writes the database object to the buffer starting at its position.
+     *
+     * @apiNote
+     * Exactly {@link #sizeOf(Object)} bytes must be written using relative
+     * puts.
+     *
+     * @param dbo the database object
+     * @param buffer the buffer to write to
+     */
+    void write(final DBO dbo, final ByteBuffer buffer);
+
+    /**
+     * Reads a database object from the buffer starting at its position. The
+     * remaining bytes of the buffer are the bytes of the record.
+     *
+     * @param buffer the buffer to read from
+     * @return the database object held by the record
+     */
+    DBO read(final ByteBuffer buffer);
+}
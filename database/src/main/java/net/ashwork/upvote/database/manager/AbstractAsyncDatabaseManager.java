@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.util.DatabaseHelper;
+import net.ashwork.upvote.database.util.RecyclingTransformer;
+import net.ashwork.upvote.manager.AbstractAsyncInputManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An abstract implementation of {@link AbstractAsyncInputManager} for a
+ * database. Every call to the domain access object is run on the supplied
+ * executor, so independent insertions are in flight at the same time rather
+ * than waiting on each other.
+ *
+ * @apiNote
+ * An entry is transformed on the calling thread but inserted later on the
+ * executor, so the database object is retained past the call. A
+ * {@link RecyclingTransformer} therefore cannot be used.
+ *
+ * @param <ENTRY> the type of the entry data
+ * @param <DBO> the type of the database object
+ * @param <DAO> the type of the database access object
+ * @param <RESPONSE> the type of the response to the action
+ * @since 1.1.0
+ */
+public abstract class AbstractAsyncDatabaseManager<ENTRY, DBO, DAO extends InsertDao<DBO>, RESPONSE> implements AbstractAsyncInputManager<ENTRY, RESPONSE> {
+
+    protected final DAO dao;
+    protected final Function<ENTRY, DBO> transformer;
+    protected final IntFunction<RESPONSE> persistSuccess;
+    protected final Function<Throwable, RESPONSE> throwingError;
+    protected final Executor executor;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the entry to a database object
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param executor the executor to run calls to the domain access object on
+     * @throws IllegalArgumentException if the transformer is a {@link RecyclingTransformer}
+     */
+    protected AbstractAsyncDatabaseManager(final DAO dao, final Function<ENTRY, DBO> transformer, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final Executor executor) {
+        if (transformer instanceof RecyclingTransformer) {
+            throw new IllegalArgumentException("An asynchronous insertion retains its database object, so it cannot be recycled");
+        }
+        this.dao = dao;
+        this.transformer = transformer;
+        this.persistSuccess = persistSuccess;
+        this.throwingError = throwingError;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletionStage<RESPONSE> putEntry(ENTRY entry) {
+        final DBO dbo = this.transformer.apply(entry);
+        try {
+            return CompletableFuture.supplyAsync(() -> DatabaseHelper.persistToDatabase(this.dao, dbo, this.persistSuccess, this.throwingError), this.executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(this.throwingError.apply(e));
+        }
+    }
+}
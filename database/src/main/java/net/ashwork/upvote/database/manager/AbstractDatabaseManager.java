@@ -26,27 +26,45 @@
 package net.ashwork.upvote.database.manager;
 
 import net.ashwork.upvote.database.domain.dao.InsertDao;
-import net.ashwork.upvote.database.util.DatabaseHelper;
+import net.ashwork.upvote.database.util.RecyclingTransformer;
+import net.ashwork.upvote.database.util.WriteBehindBuffer;
 import net.ashwork.upvote.manager.AbstractInputManager;
+import net.ashwork.upvote.manager.BulkInputManager;
+import net.ashwork.upvote.manager.ImportListener;
+import net.ashwork.upvote.manager.ImportResult;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
 /**
  * An abstract implementation of {@link AbstractInputManager} for a database.
  *
+ * <p>Entries can also be imported in bulk, in which case each chunk is
+ * transformed on an executor and inserted using {@link InsertDao#insertAll(List)}.
+ *
  * @param <ENTRY> the type of the entry data
  * @param <DBO> the type of the database object
  * @param <DAO> the type of the database access object
  * @param <RESPONSE> the type of the response to the action
  * @since 1.0.0
  */
-public abstract class AbstractDatabaseManager<ENTRY, DBO, DAO extends InsertDao<DBO>, RESPONSE> implements AbstractInputManager<ENTRY, RESPONSE> {
+public abstract class AbstractDatabaseManager<ENTRY, DBO, DAO extends InsertDao<DBO>, RESPONSE> implements AbstractInputManager<ENTRY, RESPONSE>, BulkInputManager<ENTRY> {
 
     protected final DAO dao;
     protected final Function<ENTRY, DBO> transformer;
     protected final IntFunction<RESPONSE> persistSuccess;
     protected final Function<Throwable, RESPONSE> throwingError;
+    protected final WriteBehindBuffer<DBO> buffer;
+    protected final Function<CompletionStage<Void>, RESPONSE> pendingResponse;
 
     /**
      * A simple constructor.
@@ -61,10 +79,201 @@ public abstract class AbstractDatabaseManager<ENTRY, DBO, DAO extends InsertDao<
         this.transformer = transformer;
         this.persistSuccess = persistSuccess;
         this.throwingError = throwingError;
+        this.buffer = null;
+        this.pendingResponse = null;
+    }
+
+    /**
+     * A constructor which inserts entries into the table through a write-behind
+     * buffer. Entries are inserted in batches and the response is created as
+     * soon as the entry has been buffered.
+     *
+     * @apiNote
+     * The buffer should insert into the same table as the domain access object.
+     * The buffer is owned by the caller and should be closed on shutdown.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the entry to a database object
+     * @param buffer the buffer used to insert the database objects in batches
+     * @param pendingResponse a function to convert the pending completion of a buffered insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @throws IllegalArgumentException if the transformer is a {@link RecyclingTransformer}
+     * @since 1.1.0
+     */
+    protected AbstractDatabaseManager(final DAO dao, final Function<ENTRY, DBO> transformer, final WriteBehindBuffer<DBO> buffer, final Function<CompletionStage<Void>, RESPONSE> pendingResponse, final Function<Throwable, RESPONSE> throwingError) {
+        if (transformer instanceof RecyclingTransformer) {
+            throw new IllegalArgumentException("A write-behind buffer retains its database objects, so they cannot be recycled");
+        }
+        this.dao = dao;
+        this.transformer = transformer;
+        this.persistSuccess = null;
+        this.throwingError = throwingError;
+        this.buffer = buffer;
+        this.pendingResponse = pendingResponse;
     }
 
     @Override
     public RESPONSE putEntry(ENTRY entry) {
-        return DatabaseHelper.persistToDatabase(this.dao, this.transformer.apply(entry), this.persistSuccess, this.throwingError);
+        final DBO dbo = this.transformer.apply(entry);
+        if (this.buffer != null) {
+            final CompletionStage<Void> pending;
+            try {
+                pending = this.buffer.submit(dbo);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return this.throwingError.apply(e);
+            } catch (final IllegalStateException e) {
+                return this.throwingError.apply(e);
+            }
+            return this.pendingResponse.apply(pending);
+        }
+        try {
+            return this.persistSuccess.apply(this.dao.insert(dbo));
+        } catch (final Throwable t) {
+            return this.throwingError.apply(t);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Chunks are imported on the {@linkplain ForkJoinPool#commonPool() common
+     * pool} with at most as many chunks in flight as its parallelism.
+     */
+    @Override
+    public ImportResult putEntries(final Iterator<? extends ENTRY> entries, final int chunkSize, final ImportListener<ENTRY> listener) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return this.putEntries(entries, chunkSize, pool.getParallelism(), pool, listener);
+    }
+
+    /**
+     * Puts every entry of an iterator into the table, blocking until all
+     * chunks have been attempted. Each chunk is transformed and inserted on
+     * the executor, bypassing any write-behind buffer.
+     *
+     * <p>At most {@code maxInFlight} chunks are held in memory at once. Once
+     * that many are in flight, reading the iterator waits for a chunk to
+     * finish.
+     *
+     * @apiNote
+     * The executor should not be a single thread shared with other work, as
+     * the calling thread waits on it.
+     *
+     * @param entries the entries to put into the table
+     * @param chunkSize the number of entries inserted at a time
+     * @param maxInFlight the maximum number of chunks being imported at once
+     * @param executor the executor to transform and insert each chunk on
+     * @param listener the listener notified as each chunk is inserted or fails
+     * @return the result of putting the entries
+     * @throws IllegalArgumentException if the chunk size or maximum number of
+     *                                  chunks in flight is not positive
+     * @throws RuntimeException if the iterator throws, once every chunk in
+     *                          flight has finished
+     * @since 1.1.0
+     */
+    public ImportResult putEntries(final Iterator<? extends ENTRY> entries, final int chunkSize, final int maxInFlight, final Executor executor, final ImportListener<ENTRY> listener) {
+        if (chunkSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("The chunk size and maximum number of chunks in flight must be positive");
+        }
+        final Semaphore permits = new Semaphore(maxInFlight);
+        final LongAdder imported = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder failedChunks = new LongAdder();
+        boolean interrupted = false;
+        long offset = 0L;
+        /*
+         * Chunks still in flight are always waited for, even if reading the
+         * iterator throws, so no chunk outlives the call.
+         */
+        try {
+            while (entries.hasNext()) {
+                final List<ENTRY> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && entries.hasNext()) {
+                    chunk.add(entries.next());
+                }
+                try {
+                    permits.acquire();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+                final long chunkOffset = offset;
+                offset += chunk.size();
+                final Runnable task = () -> {
+                    try {
+                        this.importChunk(chunkOffset, chunk, listener, imported, failed, failedChunks);
+                    } finally {
+                        permits.release();
+                    }
+                };
+                try {
+                    executor.execute(task);
+                } catch (final RejectedExecutionException e) {
+                    permits.release();
+                    failed.add(chunk.size());
+                    failedChunks.increment();
+                    listener.chunkFailed(chunkOffset, chunk, e);
+                }
+            }
+        } finally {
+            permits.acquireUninterruptibly(maxInFlight);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return new ImportResult(imported.sum(), failed.sum(), failedChunks.sum(), interrupted);
+    }
+
+    /**
+     * Inserts a chunk of a bulk import into the table.
+     *
+     * @implSpec
+     * The default implementation inserts the database objects using
+     * {@link InsertDao#insertAll(List)}. Implementations which track inserted
+     * entries should override this method.
+     *
+     * @param entries the entries of the chunk
+     * @param dbos the database objects of the entries, in the same order
+     * @throws Throwable if an error occurred while trying to insert the chunk
+     * @since 1.1.0
+     */
+    protected void insertChunk(final List<ENTRY> entries, final List<DBO> dbos) throws Throwable {
+        this.dao.insertAll(dbos);
+    }
+
+    /**
+     * Transforms and inserts a chunk of a bulk import, reporting the outcome
+     * to the listener.
+     *
+     * @param offset the index of the first entry of the chunk within the import
+     * @param chunk the entries of the chunk
+     * @param listener the listener notified of the outcome
+     * @param imported the number of entries inserted
+     * @param failed the number of entries which failed
+     * @param failedChunks the number of chunks which failed
+     */
+    @SuppressWarnings("unchecked")
+    private void importChunk(final long offset, final List<ENTRY> chunk, final ImportListener<ENTRY> listener, final LongAdder imported, final LongAdder failed, final LongAdder failedChunks) {
+        /*
+         * A recycled database object would be overwritten by the next entry of
+         * the chunk, so each entry gets its own object instead.
+         */
+        final Function<ENTRY, DBO> transformer = this.transformer instanceof RecyclingTransformer
+                ? ((RecyclingTransformer<ENTRY, DBO>) this.transformer)::create : this.transformer;
+        try {
+            final List<DBO> dbos = new ArrayList<>(chunk.size());
+            for (final ENTRY entry : chunk) {
+                dbos.add(transformer.apply(entry));
+            }
+            this.insertChunk(chunk, dbos);
+        } catch (final Throwable t) {
+            failed.add(chunk.size());
+            failedChunks.increment();
+            listener.chunkFailed(offset, chunk, t);
+            return;
+        }
+        imported.add(chunk.size());
+        listener.chunkImported(offset, chunk.size());
     }
 }
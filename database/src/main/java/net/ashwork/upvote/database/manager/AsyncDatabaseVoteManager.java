@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.database.util.RecyclingTransformer;
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+import net.ashwork.upvote.manager.AsyncItemVoteManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link AsyncItemVoteManager} for a database.
+ *
+ * <p>Tallies requested while another tally is still running share the result
+ * of the running tally instead of each reading the table.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <DBO> the type of the database object holding the vote
+ * @param <DAO> the type of the domain access object holding votes
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class AsyncDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, DBO, DAO extends InsertDao<DBO> & GetDao<DBO>, RESPONSE> extends AbstractAsyncDatabaseManager<ENTRY, DBO, DAO, RESPONSE> implements AsyncItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final TallyAlgorithm<DBO, RESPONSE> algorithm;
+    private final ItemGetDao<ITEM, DBO> itemDao;
+    private final int fetchSize;
+    private final AtomicReference<CompletableFuture<RESPONSE>> runningTally;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param executor the executor to run calls to the domain access object on
+     * @throws IllegalArgumentException if the transformer is a {@link RecyclingTransformer}
+     */
+    public AsyncDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final Executor executor) {
+        this(dao, itemDao, transformer, algorithm, persistSuccess, throwingError, executor, GetDao.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * A constructor which specifies the number of rows fetched at a time when
+     * streaming the table during a tally.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param executor the executor to run calls to the domain access object on
+     * @param fetchSize the maximum number of rows to fetch at a time
+     * @throws IllegalArgumentException if the transformer is a {@link RecyclingTransformer}
+     */
+    public AsyncDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final Executor executor, final int fetchSize) {
+        super(dao, transformer, persistSuccess, throwingError, executor);
+        this.algorithm = algorithm;
+        this.itemDao = itemDao;
+        this.fetchSize = fetchSize;
+        this.runningTally = new AtomicReference<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * If a tally is already running, the returned stage completes with the
+     * response of that tally. A new tally is only started once the running
+     * one has finished.
+     */
+    @Override
+    public CompletionStage<RESPONSE> tally() {
+        for (;;) {
+            final CompletableFuture<RESPONSE> running = this.runningTally.get();
+            if (running != null) {
+                return running.thenApply(Function.identity());
+            }
+            final CompletableFuture<RESPONSE> started = new CompletableFuture<>();
+            if (this.runningTally.compareAndSet(null, started)) {
+                try {
+                    this.executor.execute(() -> this.runTally(started));
+                } catch (final RejectedExecutionException e) {
+                    this.runningTally.compareAndSet(started, null);
+                    started.complete(this.throwingError.apply(e));
+                }
+                return started.thenApply(Function.identity());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The votes on the items are looked up using the item domain access
+     * object. Tallies on specific items are not shared between callers.
+     */
+    @Override
+    public CompletionStage<RESPONSE> tally(final Collection<ITEM> items) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.algorithm.execute(this.itemDao.getAllByItems(items));
+                } catch (final Throwable t) {
+                    return this.throwingError.apply(t);
+                }
+            }, this.executor);
+        } catch (final RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(this.throwingError.apply(e));
+        }
+    }
+
+    /**
+     * Tallies every vote within the table and completes the running tally.
+     *
+     * @param started the future of the running tally
+     */
+    private void runTally(final CompletableFuture<RESPONSE> started) {
+        RESPONSE response = null;
+        Throwable failure = null;
+        try (final Stream<DBO> dbos = this.dao.streamAll(this.fetchSize)) {
+            response = this.algorithm.execute(dbos);
+        } catch (final Throwable t) {
+            try {
+                response = this.throwingError.apply(t);
+            } catch (final Throwable e) {
+                failure = e;
+            }
+        }
+        // Clear before completing so that callers notified of the result start a new tally
+        this.runningTally.compareAndSet(started, null);
+        if (failure == null) {
+            started.complete(response);
+        } else {
+            started.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.UserGetDao;
+import net.ashwork.upvote.database.util.ExceptionHelper;
+import net.ashwork.upvote.domain.ReputationEntry;
+import net.ashwork.upvote.manager.ReputationLookup;
+import net.ashwork.upvote.util.FrequencyCache;
+import net.ashwork.upvote.util.HashHelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An implementation of {@link DatabaseReputationManager} which can also read
+ * the latest reputation of users through a {@link FrequencyCache}. Reads which
+ * miss the cache are loaded from the table, and every reputation successfully
+ * inserted through this manager updates the cached reputation of its user
+ * unless the cached reputation is later.
+ *
+ * <p>Users are split across a number of stripes, each holding a generation
+ * which is incremented whenever a reputation of one of its users is inserted.
+ * A reputation loaded from the table is only cached if the generation of its
+ * user has not changed since the load began, so a reputation read before an
+ * insertion can never replace the result of that insertion.
+ *
+ * @apiNote
+ * An inserted reputation is only written to the cache if its user is already
+ * cached, as an uncached user may have a later reputation within the table.
+ * A missing reputation is never cached.
+ *
+ * @param <USER> the type of the user
+ * @param <REPUTATION> the type of the reputation
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the reputation
+ * @param <DBO> the type of the database object holding the reputation
+ * @param <DAO> the type of the domain access object holding reputations
+ * @param <RESPONSE> the type of the response to the action
+ * @since 1.1.0
+ */
+public class CachedDatabaseReputationManager<USER, REPUTATION, TIME, ENTRY extends ReputationEntry<USER, REPUTATION, TIME>, DBO, DAO extends InsertDao<DBO> & UserGetDao<USER, DBO>, RESPONSE> extends DatabaseReputationManager<USER, REPUTATION, TIME, ENTRY, DBO, DAO, RESPONSE> implements ReputationLookup<USER, REPUTATION> {
+
+    private static final int STRIPES = 64;
+
+    private final Function<DBO, REPUTATION> reputation;
+    private final Function<DBO, TIME> time;
+    private final Comparator<? super TIME> timeOrder;
+    private final FrequencyCache<USER, Latest<REPUTATION, TIME>> cache;
+    private final Object[] stripes;
+    private final long[] generations;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the entry to a database object
+     * @param reputation a function to get the reputation held by a database object
+     * @param time a function to get the time held by a database object
+     * @param timeOrder a comparator which orders the times of the reputations
+     * @param cacheSize the maximum number of reputations held within the cache
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     */
+    public CachedDatabaseReputationManager(final DAO dao, final Function<ENTRY, DBO> transformer, final Function<DBO, REPUTATION> reputation, final Function<DBO, TIME> time, final Comparator<? super TIME> timeOrder, final int cacheSize, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError) {
+        super(dao, transformer, persistSuccess, throwingError);
+        this.reputation = reputation;
+        this.time = time;
+        this.timeOrder = timeOrder;
+        this.cache = new FrequencyCache<>(cacheSize);
+        this.stripes = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Object();
+        }
+        this.generations = new long[STRIPES];
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final DBO dbo = this.transformer.apply(entry);
+        try {
+            final int id = this.dao.insert(dbo);
+            this.inserted(entry);
+            return this.persistSuccess.apply(id);
+        } catch (final Throwable t) {
+            return this.throwingError.apply(t);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Chunks may finish out of order, so the cached reputation of each user
+     * is only replaced by an entry which is not older.
+     */
+    @Override
+    protected void insertChunk(final List<ENTRY> entries, final List<DBO> dbos) throws Throwable {
+        this.dao.insertAll(dbos);
+        for (final ENTRY entry : entries) {
+            this.inserted(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the table could not be read, which
+     *                               holds the thrown throwable as its cause
+     */
+    @Override
+    public Optional<REPUTATION> getUserReputation(final USER user) {
+        final Latest<REPUTATION, TIME> cached = this.cache.get(user);
+        if (cached != null) {
+            return Optional.of(cached.reputation);
+        }
+        final long generation = this.generation(user);
+        final Optional<DBO> dbo = ExceptionHelper.getOrThrow(() -> this.dao.getLatestByUser(user));
+        return dbo.map(value -> this.loaded(user, value, generation));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * Every user which misses the cache is loaded from the table at once.
+     *
+     * @throws IllegalStateException if the table could not be read, which
+     *                               holds the thrown throwable as its cause
+     */
+    @Override
+    public Map<USER, REPUTATION> getUserReputations(final Collection<USER> users) {
+        final Map<USER, REPUTATION> reputations = new HashMap<>(users.size());
+        final List<USER> missed = new ArrayList<>();
+        final Map<USER, Long> generations = new HashMap<>();
+        for (final USER user : users) {
+            final Latest<REPUTATION, TIME> cached = this.cache.get(user);
+            if (cached != null) {
+                reputations.put(user, cached.reputation);
+            } else {
+                missed.add(user);
+                generations.put(user, this.generation(user));
+            }
+        }
+        if (!missed.isEmpty()) {
+            ExceptionHelper.getOrThrow(() -> this.dao.getLatestByUsers(missed)).forEach((user, dbo) -> {
+                final REPUTATION value = this.loaded(user, dbo, generations.get(user));
+                if (value != null) {
+                    reputations.put(user, value);
+                }
+            });
+        }
+        return reputations;
+    }
+
+    /**
+     * Gets the cache of reputations, such as to read its statistics.
+     *
+     * @return the cache of reputations
+     */
+    public FrequencyCache<USER, ?> getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Updates the cache after the reputation of a user was inserted.
+     *
+     * @param entry the inserted entry
+     */
+    private void inserted(final ENTRY entry) {
+        final USER user = entry.getUser();
+        final int stripe = stripe(user);
+        synchronized (this.stripes[stripe]) {
+            this.generations[stripe]++;
+            final Latest<REPUTATION, TIME> cached = this.cache.peek(user);
+            if (cached == null || this.timeOrder.compare(entry.getTime(), cached.time) < 0) {
+                return;
+            }
+            if (entry.getReputation() != null) {
+                this.cache.put(user, new Latest<>(entry.getReputation(), entry.getTime()));
+            } else {
+                this.cache.invalidate(user);
+            }
+        }
+    }
+
+    /**
+     * Caches the reputation of a user loaded from the table if no reputation
+     * of the user was inserted since the load began.
+     *
+     * @param user the user whose reputation was loaded
+     * @param dbo the latest database object of the user
+     * @param generation the generation of the user when the load began
+     * @return the loaded reputation, or {@code null} if the database object
+     *         holds none
+     */
+    private REPUTATION loaded(final USER user, final DBO dbo, final long generation) {
+        final REPUTATION value = this.reputation.apply(dbo);
+        if (value == null) {
+            return null;
+        }
+        final TIME time = this.time.apply(dbo);
+        final int stripe = stripe(user);
+        synchronized (this.stripes[stripe]) {
+            if (this.generations[stripe] == generation) {
+                final Latest<REPUTATION, TIME> cached = this.cache.peek(user);
+                if (cached == null || this.timeOrder.compare(time, cached.time) >= 0) {
+                    this.cache.put(user, new Latest<>(value, time));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Gets the current generation of the stripe holding a user.
+     *
+     * @param user the user to look up
+     * @return the generation of the stripe holding the user
+     */
+    private long generation(final USER user) {
+        final int stripe = stripe(user);
+        synchronized (this.stripes[stripe]) {
+            return this.generations[stripe];
+        }
+    }
+
+    /**
+     * Gets the stripe holding a user.
+     *
+     * @param user the user to look up
+     * @return the index of the stripe holding the user
+     */
+    private static int stripe(final Object user) {
+        return (int) HashHelper.mix(Objects.hashCode(user)) & (STRIPES - 1);
+    }
+
+    /**
+     * A cached reputation along with the time it was set at.
+     *
+     * @param <REPUTATION> the type of the reputation
+     * @param <TIME> the type of the time
+     */
+    private static final class Latest<REPUTATION, TIME> {
+
+        private final REPUTATION reputation;
+        private final TIME time;
+
+        /**
+         * A simple constructor.
+         *
+         * @param reputation the cached reputation
+         * @param time the time the reputation was set at
+         */
+        private Latest(final REPUTATION reputation, final TIME time) {
+            this.reputation = reputation;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.checkpoint.Checkpoint;
+import net.ashwork.upvote.database.checkpoint.CheckpointStore;
+import net.ashwork.upvote.database.checkpoint.StateCodec;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.database.domain.dao.PositionedGetDao;
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.domain.algorithm.IncrementalTallyAlgorithm;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link IncrementalDatabaseVoteManager} which saves its
+ * running state to a {@link CheckpointStore} along with the position of the
+ * table it reflects. When the state is first built, the latest checkpoint is
+ * loaded and only the entries after its position are replayed, so startup
+ * time is bounded by the size of the state rather than the table.
+ *
+ * <p>If there is no valid checkpoint, or its position is beyond the end of the
+ * table, the state is built from the entire table instead.
+ *
+ * @apiNote
+ * A checkpoint holds the write lock of {@link #rebuildLock} while the state is
+ * encoded, so votes are blocked for that duration. The manager should be
+ * closed on shutdown to stop periodic checkpoints and save a final one.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <DBO> the type of the database object holding the vote
+ * @param <DAO> the type of the domain access object holding votes
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class CheckpointedDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, DBO, DAO extends InsertDao<DBO> & PositionedGetDao<DBO>, STATE, RESPONSE> extends IncrementalDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY, DBO, DAO, STATE, RESPONSE> implements AutoCloseable {
+
+    private final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm;
+    private final CheckpointStore store;
+    private final StateCodec<STATE> codec;
+    private final ScheduledExecutorService checkpointer;
+    /*
+     * Held while saving a checkpoint so that two checkpoints of the same
+     * position never write the same temporary file at once.
+     */
+    private final Object checkpointLock;
+    private volatile long lastPosition;
+
+    /**
+     * A simple constructor which only saves checkpoints when
+     * {@link #checkpoint()} or {@link #close()} is called.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to incrementally tally the vote database objects
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param store the store holding the checkpoints
+     * @param codec the codec of the running state
+     */
+    public CheckpointedDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final CheckpointStore store, final StateCodec<STATE> codec) {
+        super(dao, itemDao, transformer, algorithm, persistSuccess, throwingError);
+        this.algorithm = algorithm;
+        this.store = store;
+        this.codec = codec;
+        this.checkpointLock = new Object();
+        this.checkpointer = null;
+        this.lastPosition = -1L;
+    }
+
+    /**
+     * A constructor which also saves a checkpoint periodically on a daemon
+     * thread. Any throwable thrown while saving is passed to
+     * {@code throwingError}.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to incrementally tally the vote database objects
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param store the store holding the checkpoints
+     * @param codec the codec of the running state
+     * @param interval the time between checkpoints
+     * @param unit the unit of the interval
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public CheckpointedDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final CheckpointStore store, final StateCodec<STATE> codec, final long interval, final TimeUnit unit) {
+        super(dao, itemDao, transformer, algorithm, persistSuccess, throwingError);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+        this.algorithm = algorithm;
+        this.store = store;
+        this.codec = codec;
+        this.checkpointLock = new Object();
+        this.checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "upvote-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checkpointer.scheduleWithFixedDelay(this::tryCheckpoint, interval, interval, unit);
+        this.lastPosition = -1L;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The latest checkpoint is loaded and the entries after it are replayed.
+     */
+    @Override
+    protected STATE restore() throws Throwable {
+        final Optional<Checkpoint<STATE>> checkpoint = this.store.loadLatest(this.codec);
+        if (!checkpoint.isPresent() || checkpoint.get().getPosition() > this.dao.position()) {
+            return this.scan();
+        }
+        final STATE state = checkpoint.get().getState();
+        try (final Stream<DBO> dbos = this.dao.streamFrom(checkpoint.get().getPosition())) {
+            dbos.forEachOrdered(dbo -> this.algorithm.accumulate(state, dbo));
+        }
+        this.lastPosition = checkpoint.get().getPosition();
+        return state;
+    }
+
+    /**
+     * Saves the running state as the newest checkpoint. Nothing is saved if
+     * the state has not been built or the table has not changed since the
+     * last checkpoint. Concurrent calls save one at a time.
+     *
+     * @throws Throwable if an error occurred while reading the position of the
+     *                   table or writing the checkpoint
+     */
+    public void checkpoint() throws Throwable {
+        synchronized (this.checkpointLock) {
+            final long position;
+            final byte[] state;
+            final Lock lock = this.rebuildLock.writeLock();
+            lock.lock();
+            try {
+                final STATE current = this.getState();
+                if (current == null) {
+                    return;
+                }
+                position = this.dao.position();
+                if (position == this.lastPosition) {
+                    return;
+                }
+                synchronized (current) {
+                    state = this.store.encode(current, this.codec);
+                }
+            } finally {
+                lock.unlock();
+            }
+            this.store.write(position, state);
+            this.lastPosition = position;
+        }
+    }
+
+    /**
+     * Stops any periodic checkpoints and saves a final checkpoint. Any
+     * throwable thrown while saving is passed to {@code throwingError}.
+     *
+     * @implNote
+     * A periodic checkpoint which is already running is waited on before the
+     * final checkpoint is saved. If the thread is interrupted while waiting,
+     * the final checkpoint is still saved after the running one, as saving is
+     * serialized.
+     */
+    @Override
+    public void close() {
+        if (this.checkpointer != null) {
+            this.checkpointer.shutdown();
+            try {
+                this.checkpointer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.tryCheckpoint();
+    }
+
+    /**
+     * Saves a checkpoint, passing any thrown throwable to {@code throwingError}.
+     */
+    private void tryCheckpoint() {
+        try {
+            this.checkpoint();
+        } catch (final Throwable t) {
+            this.throwingError.apply(t);
+        }
+    }
+}
@@ -26,11 +26,16 @@
 package net.ashwork.upvote.database.manager;
 
 import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.util.WriteBehindBuffer;
 import net.ashwork.upvote.domain.ReputationEntry;
+import net.ashwork.upvote.manager.ImportListener;
+import net.ashwork.upvote.manager.ImportResult;
 import net.ashwork.upvote.manager.ReputationManager;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * An implementation of {@link ReputationManager} for a database.
@@ -56,4 +61,34 @@ public class DatabaseReputationManager<USER, REPUTATION, TIME, ENTRY extends Rep
     public DatabaseReputationManager(final DAO dao, final Function<ENTRY, DBO> transformer, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError) {
         super(dao, transformer, persistSuccess, throwingError);
     }
+
+    /**
+     * A constructor which inserts reputations into the table through a
+     * write-behind buffer.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the entry to a database object
+     * @param buffer the buffer used to insert the database objects in batches
+     * @param pendingResponse a function to convert the pending completion of a buffered insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @see AbstractDatabaseManager#AbstractDatabaseManager(InsertDao, Function, WriteBehindBuffer, Function, Function)
+     * @since 1.1.0
+     */
+    public DatabaseReputationManager(final DAO dao, final Function<ENTRY, DBO> transformer, final WriteBehindBuffer<DBO> buffer, final Function<CompletionStage<Void>, RESPONSE> pendingResponse, final Function<Throwable, RESPONSE> throwingError) {
+        super(dao, transformer, buffer, pendingResponse, throwingError);
+    }
+
+    /**
+     * A wrapper around {@link #putEntries(Stream, ImportListener)} to give a
+     * more meaningful name in context.
+     *
+     * @param entries the reputation entries to put into the manager
+     * @param listener the listener notified as each chunk is put or fails
+     * @return the result of putting the entries
+     * @see #putEntries(Stream, ImportListener)
+     * @since 1.1.0
+     */
+    public ImportResult setUserReputations(final Stream<? extends ENTRY> entries, final ImportListener<ENTRY> listener) {
+        return this.putEntries(entries, listener);
+    }
 }
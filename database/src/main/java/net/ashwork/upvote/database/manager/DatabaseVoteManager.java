@@ -27,12 +27,17 @@ package net.ashwork.upvote.database.manager;
 
 import net.ashwork.upvote.database.domain.dao.GetDao;
 import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.util.WriteBehindBuffer;
 import net.ashwork.upvote.domain.VoteEntry;
 import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+import net.ashwork.upvote.manager.ImportListener;
+import net.ashwork.upvote.manager.ImportResult;
 import net.ashwork.upvote.manager.VoteManager;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * An implementation of {@link VoteManager} for a database.
@@ -45,10 +50,12 @@ import java.util.function.IntFunction;
  * @param <DBO> the type of the database object holding the vote
  * @param <DAO> the type of the domain access object holding votes
  * @param <RESPONSE> the type of the response to the actions
+ * @see ItemDatabaseVoteManager
  */
 public class DatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, DBO, DAO extends InsertDao<DBO> & GetDao<DBO>, RESPONSE> extends AbstractDatabaseManager<ENTRY, DBO, DAO, RESPONSE> implements VoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
 
     private final TallyAlgorithm<DBO, RESPONSE> algorithm;
+    protected final int fetchSize;
 
     /**
      * A simple constructor.
@@ -60,16 +67,70 @@ public class DatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry
      * @param throwingError a function to convert a thrown throwable to a response
      */
     public DatabaseVoteManager(final DAO dao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError) {
+        this(dao, transformer, algorithm, persistSuccess, throwingError, GetDao.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * A constructor which specifies the number of rows fetched at a time when
+     * streaming the table during a tally.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param fetchSize the maximum number of rows to fetch at a time
+     * @since 1.1.0
+     */
+    public DatabaseVoteManager(final DAO dao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final int fetchSize) {
         super(dao, transformer, persistSuccess, throwingError);
         this.algorithm = algorithm;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * A constructor which inserts votes into the table through a write-behind
+     * buffer. The buffer is flushed before every tally.
+     *
+     * @param dao the domain access object of the table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param buffer the buffer used to insert the database objects in batches
+     * @param pendingResponse a function to convert the pending completion of a buffered insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param fetchSize the maximum number of rows to fetch at a time
+     * @see AbstractDatabaseManager#AbstractDatabaseManager(InsertDao, Function, WriteBehindBuffer, Function, Function)
+     * @since 1.1.0
+     */
+    public DatabaseVoteManager(final DAO dao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final WriteBehindBuffer<DBO> buffer, final Function<CompletionStage<Void>, RESPONSE> pendingResponse, final Function<Throwable, RESPONSE> throwingError, final int fetchSize) {
+        super(dao, transformer, buffer, pendingResponse, throwingError);
+        this.algorithm = algorithm;
+        this.fetchSize = fetchSize;
     }
 
     @Override
     public RESPONSE tally() {
-        try {
-            return this.algorithm.execute(this.dao.getAll());
+        if (this.buffer != null) {
+            this.buffer.flush();
+        }
+        try (final Stream<DBO> dbos = this.dao.streamAll(this.fetchSize)) {
+            return this.algorithm.execute(dbos);
         } catch (final Throwable t) {
             return this.throwingError.apply(t);
         }
     }
+
+    /**
+     * A wrapper around {@link #putEntries(Stream, ImportListener)} to give a
+     * more meaningful name in context.
+     *
+     * @param entries the vote entries to put into the manager
+     * @param listener the listener notified as each chunk is put or fails
+     * @return the result of putting the entries
+     * @see #putEntries(Stream, ImportListener)
+     * @since 1.1.0
+     */
+    public ImportResult castVotes(final Stream<? extends ENTRY> entries, final ImportListener<ENTRY> listener) {
+        return this.putEntries(entries, listener);
+    }
 }
@@ -0,0 +1,255 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.domain.algorithm.IncrementalTallyAlgorithm;
+import net.ashwork.upvote.manager.ItemVoteManager;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of {@link ItemVoteManager} for a database which keeps the
+ * running state of an {@link IncrementalTallyAlgorithm} in memory. Every
+ * successfully persisted vote is folded into the state, so a tally does not
+ * need to read the table again.
+ *
+ * <p>The state is built from the entire table on the first tally or when
+ * {@link #rebuild()} is called explicitly.
+ *
+ * @apiNote
+ * Only votes cast through this manager are accumulated. If the table is
+ * written to by anything else, {@link #rebuild()} must be called for the
+ * tally to reflect those changes.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <DBO> the type of the database object holding the vote
+ * @param <DAO> the type of the domain access object holding votes
+ * @param <STATE> the type of the running state of the tally
+ * @param <RESPONSE> the type of the response to the actions
+ * @since 1.1.0
+ */
+public class IncrementalDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, DBO, DAO extends InsertDao<DBO> & GetDao<DBO>, STATE, RESPONSE> extends ItemDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY, DBO, DAO, RESPONSE> {
+
+    private final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm;
+    /*
+     * Inserts hold the read lock until their entry has been accumulated while
+     * a rebuild holds the write lock. This prevents an entry from being both
+     * read from the table and accumulated by an insert.
+     */
+    protected final ReadWriteLock rebuildLock;
+    private volatile STATE state;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to incrementally tally the vote database objects
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     */
+    public IncrementalDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError) {
+        this(dao, itemDao, transformer, algorithm, persistSuccess, throwingError, GetDao.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * A constructor which specifies the number of rows fetched at a time when
+     * streaming the table during a rebuild.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to incrementally tally the vote database objects
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param fetchSize the maximum number of rows to fetch at a time
+     */
+    public IncrementalDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final IncrementalTallyAlgorithm<DBO, STATE, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final int fetchSize) {
+        super(dao, itemDao, transformer, algorithm, persistSuccess, throwingError, fetchSize);
+        this.algorithm = algorithm;
+        this.rebuildLock = new ReentrantReadWriteLock();
+    }
+
+    @Override
+    public RESPONSE putEntry(final ENTRY entry) {
+        final DBO dbo = this.transformer.apply(entry);
+        final Lock lock = this.rebuildLock.readLock();
+        lock.lock();
+        try {
+            final int id = this.dao.insert(dbo);
+            this.accumulate(dbo);
+            return this.persistSuccess.apply(id);
+        } catch (final Throwable t) {
+            return this.throwingError.apply(t);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The chunk is accumulated into the running state once inserted.
+     */
+    @Override
+    protected void insertChunk(final List<ENTRY> entries, final List<DBO> dbos) throws Throwable {
+        final Lock lock = this.rebuildLock.readLock();
+        lock.lock();
+        try {
+            this.dao.insertAll(dbos);
+            for (final DBO dbo : dbos) {
+                this.accumulate(dbo);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The table is only read if the state has not been built yet.
+     */
+    @Override
+    public RESPONSE tally() {
+        final STATE current = this.state;
+        if (current == null) {
+            return this.rebuild(false);
+        }
+        synchronized (current) {
+            return this.algorithm.result(current);
+        }
+    }
+
+    /**
+     * Discards the running state and builds it again from every entry within
+     * the table.
+     *
+     * @return the response created as a result of the tally on the rebuilt state
+     */
+    public RESPONSE rebuild() {
+        return this.rebuild(true);
+    }
+
+    /**
+     * Builds the running state from every entry within the table.
+     *
+     * @param force whether the state should be rebuilt if it already exists
+     * @return the response created as a result of the tally on the state
+     */
+    private RESPONSE rebuild(final boolean force) {
+        final Lock lock = this.rebuildLock.writeLock();
+        lock.lock();
+        try {
+            STATE current = this.state;
+            if (force || current == null) {
+                this.state = current = force ? this.scan() : this.restore();
+            }
+            synchronized (current) {
+                return this.algorithm.result(current);
+            }
+        } catch (final Throwable t) {
+            return this.throwingError.apply(t);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds the initial running state when it does not exist yet.
+     *
+     * @implSpec
+     * The default implementation {@linkplain #scan() scans} the entire table.
+     *
+     * @apiNote
+     * This is called while holding the write lock of {@link #rebuildLock}.
+     *
+     * @return the initial running state
+     * @throws Throwable if an error occurred while trying to build the state
+     */
+    protected STATE restore() throws Throwable {
+        return this.scan();
+    }
+
+    /**
+     * Builds a new running state from every entry within the table.
+     *
+     * @return the new running state
+     * @throws Throwable if an error occurred while trying to read the table
+     */
+    protected final STATE scan() throws Throwable {
+        final STATE rebuilt = this.algorithm.createState();
+        try (final Stream<DBO> dbos = this.dao.streamAll(this.fetchSize)) {
+            dbos.forEachOrdered(dbo -> this.algorithm.accumulate(rebuilt, dbo));
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Gets the running state of the tally.
+     *
+     * @apiNote
+     * The state should only be read while holding the write lock of
+     * {@link #rebuildLock}, which prevents any vote from being accumulated.
+     *
+     * @return the running state, or {@code null} if it has not been built
+     */
+    protected final STATE getState() {
+        return this.state;
+    }
+
+    /**
+     * Folds a persisted database object into the running state if the state
+     * has been built.
+     *
+     * @param dbo the persisted database object
+     */
+    private void accumulate(final DBO dbo) {
+        final STATE current = this.state;
+        if (current != null) {
+            synchronized (current) {
+                this.algorithm.accumulate(current, dbo);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.manager;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.database.util.WriteBehindBuffer;
+import net.ashwork.upvote.domain.VoteEntry;
+import net.ashwork.upvote.domain.algorithm.TallyAlgorithm;
+import net.ashwork.upvote.manager.ItemVoteManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An implementation of {@link ItemVoteManager} for a database. The votes on
+ * specific items are looked up through an {@link ItemGetDao}, usually backed
+ * by the same table.
+ *
+ * @param <USER> the type of the user
+ * @param <ITEM> the type of the item
+ * @param <VOTE> the type of the vote
+ * @param <TIME> the type of the time
+ * @param <ENTRY> the type of the entry holding the vote
+ * @param <DBO> the type of the database object holding the vote
+ * @param <DAO> the type of the domain access object holding votes
+ * @param <RESPONSE> the type of the response to the actions
+ * @see ItemGetDao#scanning(GetDao, Function)
+ * @since 1.1.0
+ */
+public class ItemDatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY extends VoteEntry<USER, ITEM, VOTE, TIME>, DBO, DAO extends InsertDao<DBO> & GetDao<DBO>, RESPONSE> extends DatabaseVoteManager<USER, ITEM, VOTE, TIME, ENTRY, DBO, DAO, RESPONSE> implements ItemVoteManager<USER, ITEM, VOTE, TIME, ENTRY, RESPONSE> {
+
+    private final TallyAlgorithm<DBO, RESPONSE> algorithm;
+    protected final ItemGetDao<ITEM, DBO> itemDao;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     */
+    public ItemDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError) {
+        this(dao, itemDao, transformer, algorithm, persistSuccess, throwingError, GetDao.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * A constructor which specifies the number of rows fetched at a time when
+     * streaming the table during a tally.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param persistSuccess a function to convert a successful insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param fetchSize the maximum number of rows to fetch at a time
+     */
+    public ItemDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final IntFunction<RESPONSE> persistSuccess, final Function<Throwable, RESPONSE> throwingError, final int fetchSize) {
+        super(dao, transformer, algorithm, persistSuccess, throwingError, fetchSize);
+        this.algorithm = algorithm;
+        this.itemDao = itemDao;
+    }
+
+    /**
+     * A constructor which inserts votes into the table through a write-behind
+     * buffer. The buffer is flushed before every tally.
+     *
+     * @param dao the domain access object of the table
+     * @param itemDao the domain access object looking up the votes on items, usually the same table
+     * @param transformer a function to transform the vote entry to a database object
+     * @param algorithm an algorithm to tally all vote database objects within the table
+     * @param buffer the buffer used to insert the database objects in batches
+     * @param pendingResponse a function to convert the pending completion of a buffered insertion to a response
+     * @param throwingError a function to convert a thrown throwable to a response
+     * @param fetchSize the maximum number of rows to fetch at a time
+     * @see AbstractDatabaseManager#AbstractDatabaseManager(InsertDao, Function, WriteBehindBuffer, Function, Function)
+     */
+    public ItemDatabaseVoteManager(final DAO dao, final ItemGetDao<ITEM, DBO> itemDao, final Function<ENTRY, DBO> transformer, final TallyAlgorithm<DBO, RESPONSE> algorithm, final WriteBehindBuffer<DBO> buffer, final Function<CompletionStage<Void>, RESPONSE> pendingResponse, final Function<Throwable, RESPONSE> throwingError, final int fetchSize) {
+        super(dao, transformer, algorithm, buffer, pendingResponse, throwingError, fetchSize);
+        this.algorithm = algorithm;
+        this.itemDao = itemDao;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote
+     * The votes on the items are looked up using the item domain access
+     * object.
+     */
+    @Override
+    public RESPONSE tally(final Collection<ITEM> items) {
+        if (this.buffer != null) {
+            this.buffer.flush();
+        }
+        try {
+            return this.algorithm.execute(this.itemDao.getAllByItems(items));
+        } catch (final Throwable t) {
+            return this.throwingError.apply(t);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A domain access object which both inserts and reads, recording the metrics
+ * of each call as described by {@link InstrumentedInsertDao} and
+ * {@link InstrumentedGetDao}. This can be passed to the database managers in
+ * place of the table it wraps.
+ *
+ * <p>Managers requiring further capabilities of the table take
+ * {@link InstrumentedPositionedDao}, {@link InstrumentedUpdatableDao}, or
+ * {@link InstrumentedUserDao} instead, while the votes on items are read
+ * through an {@link InstrumentedItemGetDao}.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedDao<DBO> implements InsertDao<DBO>, GetDao<DBO> {
+
+    private final InstrumentedInsertDao<DBO> insert;
+    private final InstrumentedGetDao<DBO> get;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every call to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param <DAO> the type of the domain access object
+     */
+    public <DAO extends InsertDao<DBO> & GetDao<DBO>> InstrumentedDao(final DAO dao, final MetricsRegistry registry, final String name) {
+        this(new InstrumentedInsertDao<>(dao, registry, name), new InstrumentedGetDao<>(dao, registry, name));
+    }
+
+    /**
+     * A constructor which passes every call to already instrumented domain
+     * access objects, such as to read through a more specific one.
+     *
+     * @param insert the instrumented domain access object to pass insertions to
+     * @param get the instrumented domain access object to pass reads to
+     */
+    protected InstrumentedDao(final InstrumentedInsertDao<DBO> insert, final InstrumentedGetDao<DBO> get) {
+        this.insert = insert;
+        this.get = get;
+    }
+
+    @Override
+    public int insert(final DBO dbo) throws Throwable {
+        return this.insert.insert(dbo);
+    }
+
+    @Override
+    public void insertAll(final List<DBO> dbos) throws Throwable {
+        this.insert.insertAll(dbos);
+    }
+
+    @Override
+    public List<DBO> getAll() throws Throwable {
+        return this.get.getAll();
+    }
+
+    @Override
+    public Stream<DBO> streamAll(final int fetchSize) throws Throwable {
+        return this.get.streamAll(fetchSize);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.metrics.Counter;
+import net.ashwork.upvote.metrics.Histogram;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A {@link GetDao} which passes every read to another domain access object
+ * and records the metrics of each call. Reading every row is recorded as
+ * {@code <name>.getAll} along with the number of rows within
+ * {@code <name>.getAll.size}. Streaming every row is recorded as
+ * {@code <name>.streamAll} from when the stream is opened until it is closed,
+ * and each row consumed from a stream is counted by
+ * {@code <name>.streamAll.rows}. A call is counted as an error if it throws,
+ * including while the stream is consumed.
+ *
+ * @apiNote
+ * A stream must be closed for its call to be recorded, which the database
+ * managers always do.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedGetDao<DBO> implements GetDao<DBO> {
+
+    private final GetDao<DBO> dao;
+    private final OperationMetrics getAll;
+    private final Histogram rows;
+    private final OperationMetrics streamAll;
+    private final Counter streamed;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every read to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedGetDao(final GetDao<DBO> dao, final MetricsRegistry registry, final String name) {
+        this.dao = dao;
+        this.getAll = new OperationMetrics(registry, name + ".getAll");
+        this.rows = registry.histogram(name + ".getAll.size");
+        this.streamAll = new OperationMetrics(registry, name + ".streamAll");
+        this.streamed = registry.counter(name + ".streamAll.rows");
+    }
+
+    @Override
+    public List<DBO> getAll() throws Throwable {
+        final long start = this.getAll.start();
+        final List<DBO> dbos;
+        try {
+            dbos = this.dao.getAll();
+        } catch (final Throwable t) {
+            this.getAll.stop(start, false);
+            throw t;
+        }
+        this.getAll.stop(start, true);
+        this.rows.record(dbos.size());
+        return dbos;
+    }
+
+    @Override
+    public Stream<DBO> streamAll(final int fetchSize) throws Throwable {
+        final long start = this.streamAll.start();
+        final Stream<DBO> dbos;
+        try {
+            dbos = this.dao.streamAll(fetchSize);
+        } catch (final Throwable t) {
+            this.streamAll.stop(start, false);
+            throw t;
+        }
+        return InstrumentedStreams.record(dbos, this.streamAll, start, this.streamed);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.metrics.Histogram;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.List;
+
+/**
+ * An {@link InsertDao} which passes every insertion to another domain access
+ * object and records the metrics of each call. Single insertions are recorded
+ * as {@code <name>.insert} and batches as {@code <name>.insertAll}, along with
+ * the number of rows within {@code <name>.insertAll.size}. A call is counted
+ * as an error if it throws.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedInsertDao<DBO> implements InsertDao<DBO> {
+
+    private final InsertDao<DBO> dao;
+    private final OperationMetrics insert;
+    private final OperationMetrics insertAll;
+    private final Histogram rows;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every insertion to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedInsertDao(final InsertDao<DBO> dao, final MetricsRegistry registry, final String name) {
+        this.dao = dao;
+        this.insert = new OperationMetrics(registry, name + ".insert");
+        this.insertAll = new OperationMetrics(registry, name + ".insertAll");
+        this.rows = registry.histogram(name + ".insertAll.size");
+    }
+
+    @Override
+    public int insert(final DBO dbo) throws Throwable {
+        final long start = this.insert.start();
+        final int id;
+        try {
+            id = this.dao.insert(dbo);
+        } catch (final Throwable t) {
+            this.insert.stop(start, false);
+            throw t;
+        }
+        this.insert.stop(start, true);
+        return id;
+    }
+
+    @Override
+    public void insertAll(final List<DBO> dbos) throws Throwable {
+        this.rows.record(dbos.size());
+        final long start = this.insertAll.start();
+        try {
+            this.dao.insertAll(dbos);
+        } catch (final Throwable t) {
+            this.insertAll.stop(start, false);
+            throw t;
+        }
+        this.insertAll.stop(start, true);
+    }
+}
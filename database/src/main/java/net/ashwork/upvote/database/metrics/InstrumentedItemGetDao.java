@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.metrics.Histogram;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An {@link ItemGetDao} which passes every read to another domain access
+ * object and records the metrics of each call. Reading the rows of a single
+ * item is recorded as {@code <name>.getAllByItem} and of many items as
+ * {@code <name>.getAllByItems}, along with the number of rows read within
+ * {@code <name>.getAllByItems.size}. A call is counted as an error if it
+ * throws.
+ *
+ * @param <ITEM> the type of the item
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedItemGetDao<ITEM, DBO> implements ItemGetDao<ITEM, DBO> {
+
+    private final ItemGetDao<ITEM, DBO> dao;
+    private final OperationMetrics getAllByItem;
+    private final OperationMetrics getAllByItems;
+    private final Histogram rows;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every read to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedItemGetDao(final ItemGetDao<ITEM, DBO> dao, final MetricsRegistry registry, final String name) {
+        this.dao = dao;
+        this.getAllByItem = new OperationMetrics(registry, name + ".getAllByItem");
+        this.getAllByItems = new OperationMetrics(registry, name + ".getAllByItems");
+        this.rows = registry.histogram(name + ".getAllByItems.size");
+    }
+
+    @Override
+    public List<DBO> getAllByItem(final ITEM item) throws Throwable {
+        final long start = this.getAllByItem.start();
+        final List<DBO> dbos;
+        try {
+            dbos = this.dao.getAllByItem(item);
+        } catch (final Throwable t) {
+            this.getAllByItem.stop(start, false);
+            throw t;
+        }
+        this.getAllByItem.stop(start, true);
+        return dbos;
+    }
+
+    @Override
+    public List<DBO> getAllByItems(final Collection<ITEM> items) throws Throwable {
+        final long start = this.getAllByItems.start();
+        final List<DBO> dbos;
+        try {
+            dbos = this.dao.getAllByItems(items);
+        } catch (final Throwable t) {
+            this.getAllByItems.stop(start, false);
+            throw t;
+        }
+        this.getAllByItems.stop(start, true);
+        this.rows.record(dbos.size());
+        return dbos;
+    }
+}
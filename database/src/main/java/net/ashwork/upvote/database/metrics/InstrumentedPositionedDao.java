@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.PositionedGetDao;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+
+import java.util.stream.Stream;
+
+/**
+ * An {@link InstrumentedDao} which can also read from a position, recording
+ * the metrics of each call as described by {@link InstrumentedPositionedGetDao}.
+ * This can be passed to the incremental and checkpointed database managers in
+ * place of the table it wraps.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedPositionedDao<DBO> extends InstrumentedDao<DBO> implements PositionedGetDao<DBO> {
+
+    private final InstrumentedPositionedGetDao<DBO> positioned;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every call to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param <DAO> the type of the domain access object
+     */
+    public <DAO extends InsertDao<DBO> & PositionedGetDao<DBO>> InstrumentedPositionedDao(final DAO dao, final MetricsRegistry registry, final String name) {
+        this(new InstrumentedInsertDao<>(dao, registry, name), new InstrumentedPositionedGetDao<>(dao, registry, name));
+    }
+
+    /**
+     * A constructor which passes every call to already instrumented domain
+     * access objects.
+     *
+     * @param insert the instrumented domain access object to pass insertions to
+     * @param positioned the instrumented domain access object to pass reads to
+     */
+    private InstrumentedPositionedDao(final InstrumentedInsertDao<DBO> insert, final InstrumentedPositionedGetDao<DBO> positioned) {
+        super(insert, positioned);
+        this.positioned = positioned;
+    }
+
+    @Override
+    public long position() throws Throwable {
+        return this.positioned.position();
+    }
+
+    @Override
+    public Stream<DBO> streamFrom(final long position) throws Throwable {
+        return this.positioned.streamFrom(position);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.PositionedGetDao;
+import net.ashwork.upvote.metrics.Counter;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.stream.Stream;
+
+/**
+ * A {@link PositionedGetDao} which passes every read to another domain access
+ * object and records the metrics of each call as described by
+ * {@link InstrumentedGetDao}. Reading the position is recorded as
+ * {@code <name>.position}. Streaming from a position is recorded as
+ * {@code <name>.streamFrom} until the stream is closed, and each row consumed
+ * from the stream is counted by {@code <name>.streamFrom.rows}.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedPositionedGetDao<DBO> extends InstrumentedGetDao<DBO> implements PositionedGetDao<DBO> {
+
+    private final PositionedGetDao<DBO> dao;
+    private final OperationMetrics position;
+    private final OperationMetrics streamFrom;
+    private final Counter streamed;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every read to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedPositionedGetDao(final PositionedGetDao<DBO> dao, final MetricsRegistry registry, final String name) {
+        super(dao, registry, name);
+        this.dao = dao;
+        this.position = new OperationMetrics(registry, name + ".position");
+        this.streamFrom = new OperationMetrics(registry, name + ".streamFrom");
+        this.streamed = registry.counter(name + ".streamFrom.rows");
+    }
+
+    @Override
+    public long position() throws Throwable {
+        final long start = this.position.start();
+        final long position;
+        try {
+            position = this.dao.position();
+        } catch (final Throwable t) {
+            this.position.stop(start, false);
+            throw t;
+        }
+        this.position.stop(start, true);
+        return position;
+    }
+
+    @Override
+    public Stream<DBO> streamFrom(final long position) throws Throwable {
+        final long start = this.streamFrom.start();
+        final Stream<DBO> dbos;
+        try {
+            dbos = this.dao.streamFrom(position);
+        } catch (final Throwable t) {
+            this.streamFrom.stop(start, false);
+            throw t;
+        }
+        return InstrumentedStreams.record(dbos, this.streamFrom, start, this.streamed);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.metrics.Counter;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A utility class to record the metrics of a stream over its consumption
+ * rather than when it is opened.
+ *
+ * @since 1.1.0
+ */
+final class InstrumentedStreams {
+
+    /**
+     * Wraps a stream such that the call is recorded once the stream is
+     * closed, or as an error as soon as consuming the stream throws. Each row
+     * consumed from the stream is counted.
+     *
+     * @param stream the opened stream
+     * @param metrics the metrics of the call which opened the stream
+     * @param start the start time of the call from {@link OperationMetrics#start()}
+     * @param rows the counter of consumed rows
+     * @param <T> the type of the rows
+     * @return the wrapped stream, which must be closed for a successful call
+     *         to be recorded
+     */
+    static <T> Stream<T> record(final Stream<T> stream, final OperationMetrics metrics, final long start, final Counter rows) {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        return StreamSupport.stream(new RecordingSpliterator<>(stream.spliterator(), metrics, start, rows, stopped), stream.isParallel())
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } finally {
+                        if (stopped.compareAndSet(false, true)) {
+                            metrics.stop(start, true);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * A spliterator which counts each row it passes on and records the call
+     * as an error if advancing throws.
+     *
+     * @param <T> the type of the rows
+     */
+    private static final class RecordingSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> spliterator;
+        private final OperationMetrics metrics;
+        private final long start;
+        private final Counter rows;
+        private final AtomicBoolean stopped;
+
+        /**
+         * A simple constructor.
+         *
+         * @param spliterator the spliterator of the opened stream
+         * @param metrics the metrics of the call which opened the stream
+         * @param start the start time of the call
+         * @param rows the counter of consumed rows
+         * @param stopped whether the call has been recorded
+         */
+        private RecordingSpliterator(final Spliterator<T> spliterator, final OperationMetrics metrics, final long start, final Counter rows, final AtomicBoolean stopped) {
+            this.spliterator = spliterator;
+            this.metrics = metrics;
+            this.start = start;
+            this.rows = rows;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            try {
+                return this.spliterator.tryAdvance(row -> {
+                    this.rows.increment();
+                    action.accept(row);
+                });
+            } catch (final RuntimeException | Error e) {
+                this.failed();
+                throw e;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            try {
+                this.spliterator.forEachRemaining(row -> {
+                    this.rows.increment();
+                    action.accept(row);
+                });
+            } catch (final RuntimeException | Error e) {
+                this.failed();
+                throw e;
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> split = this.spliterator.trySplit();
+            return split != null ? new RecordingSpliterator<>(split, this.metrics, this.start, this.rows, this.stopped) : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.spliterator.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return this.spliterator.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return this.spliterator.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return this.spliterator.getComparator();
+        }
+
+        /**
+         * Records the call as an error unless it has already been recorded.
+         */
+        private void failed() {
+            if (this.stopped.compareAndSet(false, true)) {
+                this.metrics.stop(this.start, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.GetDao;
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+import net.ashwork.upvote.database.domain.dao.UpdateDao;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+
+import java.util.List;
+
+/**
+ * An {@link InstrumentedDao} which can also upsert, recording the metrics of
+ * each call as described by {@link InstrumentedUpdateDao}. This can be passed
+ * to the delta weighted tally algorithm in place of the table it wraps.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedUpdatableDao<DBO> extends InstrumentedDao<DBO> implements UpdateDao<DBO> {
+
+    private final InstrumentedUpdateDao<DBO> update;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every call to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     * @param <DAO> the type of the domain access object
+     */
+    public <DAO extends InsertDao<DBO> & GetDao<DBO> & UpdateDao<DBO>> InstrumentedUpdatableDao(final DAO dao, final MetricsRegistry registry, final String name) {
+        super(new InstrumentedInsertDao<>(dao, registry, name), new InstrumentedGetDao<>(dao, registry, name));
+        this.update = new InstrumentedUpdateDao<>(dao, registry, name);
+    }
+
+    @Override
+    public void upsert(final DBO dbo) throws Throwable {
+        this.update.upsert(dbo);
+    }
+
+    @Override
+    public void upsertAll(final List<DBO> dbos) throws Throwable {
+        this.update.upsertAll(dbos);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.UpdateDao;
+import net.ashwork.upvote.metrics.Histogram;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.List;
+
+/**
+ * An {@link UpdateDao} which passes every upsert to another domain access
+ * object and records the metrics of each call. Single upserts are recorded as
+ * {@code <name>.upsert} and batches as {@code <name>.upsertAll}, along with
+ * the number of rows within {@code <name>.upsertAll.size}. A call is counted
+ * as an error if it throws.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedUpdateDao<DBO> implements UpdateDao<DBO> {
+
+    private final UpdateDao<DBO> dao;
+    private final OperationMetrics upsert;
+    private final OperationMetrics upsertAll;
+    private final Histogram rows;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every upsert to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedUpdateDao(final UpdateDao<DBO> dao, final MetricsRegistry registry, final String name) {
+        this.dao = dao;
+        this.upsert = new OperationMetrics(registry, name + ".upsert");
+        this.upsertAll = new OperationMetrics(registry, name + ".upsertAll");
+        this.rows = registry.histogram(name + ".upsertAll.size");
+    }
+
+    @Override
+    public void upsert(final DBO dbo) throws Throwable {
+        final long start = this.upsert.start();
+        try {
+            this.dao.upsert(dbo);
+        } catch (final Throwable t) {
+            this.upsert.stop(start, false);
+            throw t;
+        }
+        this.upsert.stop(start, true);
+    }
+
+    @Override
+    public void upsertAll(final List<DBO> dbos) throws Throwable {
+        this.rows.record(dbos.size());
+        final long start = this.upsertAll.start();
+        try {
+            this.dao.upsertAll(dbos);
+        } catch (final Throwable t) {
+            this.upsertAll.stop(start, false);
+            throw t;
+        }
+        this.upsertAll.stop(start, true);
+    }
+}
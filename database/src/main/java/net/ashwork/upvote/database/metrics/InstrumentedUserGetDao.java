@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.ashwork.upvote.database.metrics;
+
+import net.ashwork.upvote.database.domain.dao.UserGetDao;
+import net.ashwork.upvote.metrics.Histogram;
+import net.ashwork.upvote.metrics.MetricsRegistry;
+import net.ashwork.upvote.metrics.OperationMetrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A {@link UserGetDao} which passes every read to another domain access
+ * object and records the metrics of each call. Reading the latest row of a
+ * single user is recorded as {@code <name>.getLatestByUser} and of many users
+ * as {@code <name>.getLatestByUsers}, along with the number of users requested
+ * within {@code <name>.getLatestByUsers.size}. A call is counted as an error
+ * if it throws.
+ *
+ * @param <USER> the type of the user
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public class InstrumentedUserGetDao<USER, DBO> implements UserGetDao<USER, DBO> {
+
+    private final UserGetDao<USER, DBO> dao;
+    private final OperationMetrics getLatestByUser;
+    private final OperationMetrics getLatestByUsers;
+    private final Histogram users;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object to pass every read to
+     * @param registry the registry holding the metrics
+     * @param name the prefix of the metric names
+     */
+    public InstrumentedUserGetDao(final UserGetDao<USER, DBO> dao, final MetricsRegistry registry, final String name) {
+        this.dao = dao;
+        this.getLatestByUser = new OperationMetrics(registry, name + ".getLatestByUser");
+        this.getLatestByUsers = new OperationMetrics(registry, name + ".getLatestByUsers");
+        this.users = registry.histogram(name + ".getLatestByUsers.size");
+    }
+
+    @Override
+    public Optional<DBO> getLatestByUser(final USER user) throws Throwable {
+        final long start = this.getLatestByUser.start();
+        final Optional<DBO> dbo;
+        try {
+            dbo = this.dao.getLatestByUser(user);
+        } catch (final Throwable t) {
+            this.getLatestByUser.stop(start, false);
+            throw t;
+        }
+        this.getLatestByUser.stop(start, true);
+        return dbo;
+    }
+
+    @Override
+    public Map<USER, DBO> getLatestByUsers(final Collection<USER> users) throws Throwable {
+        this.users.record(users.size());
+        final long start = this.getLatestByUsers.start();
+        final Map<USER, DBO> dbos;
+        try {
+            dbos = this.dao.getLatestByUsers(users);
+        } catch (final Throwable t) {
+            this.getLatestByUsers.stop(start, false);
+            throw t;
+        }
+        this.getLatestByUsers.stop(start, true);
+        return dbos;
+    }
+}
@@ -54,7 +54,11 @@ public final class DatabaseHelper {
      * @see InsertDao
      */
     public static <DBO, DAO extends InsertDao<DBO>, RESPONSE> RESPONSE persistToDatabase(final DAO dao, final DBO dbo, final IntFunction<RESPONSE> success, final Function<Throwable, RESPONSE> error) {
-        return ExceptionHelper.getOrDefault(() -> success.apply(dao.insert(dbo)), error);
+        try {
+            return success.apply(dao.insert(dbo));
+        } catch (final Throwable t) {
+            return error.apply(t);
+        }
     }
 
     /**
@@ -72,9 +76,11 @@ public final class DatabaseHelper {
      * @see InsertDao
      */
     public static <DBO, DAO extends InsertDao<DBO>, RESPONSE> RESPONSE persistToDatabase(final DAO dao, final List<DBO> dbos, final Supplier<RESPONSE> success, final Function<Throwable, RESPONSE> error) {
-        return ExceptionHelper.getOrDefault(() -> {
+        try {
             dao.insertAll(dbos);
             return success.get();
-        }, error);
+        } catch (final Throwable t) {
+            return error.apply(t);
+        }
     }
 }
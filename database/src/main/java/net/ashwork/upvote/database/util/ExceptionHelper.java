@@ -47,7 +47,11 @@ public final class ExceptionHelper {
      * @return the result of the supplier or its default if a throwable is thrown
      */
     public static <T> T getOrDefault(final ThrowingSupplier<T> supplier, final Supplier<T> defaultObject) {
-        return getOrDefault(supplier, t -> defaultObject.get());
+        try {
+            return supplier.get();
+        } catch (final Throwable t) {
+            return defaultObject.get();
+        }
     }
 
     /**
@@ -69,4 +73,25 @@ public final class ExceptionHelper {
             return defaultObject.apply(t);
         }
     }
+
+    /**
+     * Gets a result, rethrowing any thrown checked throwable within an
+     * unchecked exception.
+     *
+     * @param supplier the supplied result
+     * @param <T> the type of the result
+     * @return the result of the supplier
+     * @throws IllegalStateException if the supplier threw a checked throwable,
+     *                               which is set as its cause
+     * @since 1.1.0
+     */
+    public static <T> T getOrThrow(final ThrowingSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
 }
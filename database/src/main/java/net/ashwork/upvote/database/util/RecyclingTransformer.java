@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.util;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A transformer which populates a database object owned by the calling
+ * thread instead of creating a new one for each entry. Once each thread has
+ * created its object, transforming an entry does not allocate.
+ *
+ * @apiNote
+ * The returned object is overwritten by the next entry transformed on the
+ * same thread. It must not be retained by the domain access object or the
+ * tally algorithm after the call returns, so this transformer cannot be used
+ * with a {@link WriteBehindBuffer} or an asynchronous database manager. {@link #create(Object)} can be used
+ * instead where the object must be retained.
+ *
+ * @param <ENTRY> the type of the entry
+ * @param <DBO> the type of the mutable database object
+ * @since 1.1.0
+ */
+public final class RecyclingTransformer<ENTRY, DBO> implements Function<ENTRY, DBO> {
+
+    private final Supplier<DBO> factory;
+    private final ThreadLocal<DBO> holders;
+    private final BiConsumer<ENTRY, DBO> populator;
+
+    /**
+     * A simple constructor.
+     *
+     * @param factory a supplier to create the database object of each thread
+     * @param populator a consumer which copies the entry into the database object
+     */
+    public RecyclingTransformer(final Supplier<DBO> factory, final BiConsumer<ENTRY, DBO> populator) {
+        this.factory = factory;
+        this.holders = ThreadLocal.withInitial(factory);
+        this.populator = populator;
+    }
+
+    @Override
+    public DBO apply(final ENTRY entry) {
+        final DBO dbo = this.holders.get();
+        this.populator.accept(entry, dbo);
+        return dbo;
+    }
+
+    /**
+     * Transforms an entry into a newly created database object which may be
+     * retained.
+     *
+     * @param entry the entry to transform
+     * @return a new database object holding the entry
+     */
+    public DBO create(final ENTRY entry) {
+        final DBO dbo = this.factory.get();
+        this.populator.accept(entry, dbo);
+        return dbo;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.util;
+
+import net.ashwork.upvote.database.domain.dao.InsertDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A bounded buffer which collects database objects and inserts them into a
+ * table in batches using {@link InsertDao#insertAll(List)}. A batch is flushed
+ * once enough objects have been submitted or a fixed amount of time has passed,
+ * whichever comes first.
+ *
+ * <p>Each submission returns a future which is completed once the batch
+ * containing the object has been inserted, or completed exceptionally with
+ * the throwable thrown while inserting it.
+ *
+ * @apiNote
+ * The buffer owns a single daemon thread used for timed and size-triggered
+ * flushes. {@link #close()} should be called on shutdown so that any objects
+ * still within the buffer are inserted.
+ *
+ * @param <DBO> the type of the database object
+ * @since 1.1.0
+ */
+public final class WriteBehindBuffer<DBO> implements AutoCloseable {
+
+    private final InsertDao<DBO> dao;
+    private final BlockingQueue<Pending<DBO>> queue;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushQueued;
+    private final Object flushLock;
+    /*
+     * Submissions hold the read lock while enqueuing so that closing the
+     * buffer cannot interleave between the closed check and the enqueue.
+     */
+    private final ReadWriteLock closeLock;
+    private boolean closed;
+
+    /**
+     * A simple constructor.
+     *
+     * @param dao the domain access object of the table
+     * @param capacity the maximum number of objects held within the buffer
+     * @param batchSize the number of objects which triggers a flush
+     * @param flushInterval the maximum time an object waits before being flushed
+     * @param unit the unit of the flush interval
+     * @throws IllegalArgumentException if the capacity, batch size, or flush
+     *                                  interval is not positive or the batch
+     *                                  size is larger than the capacity
+     */
+    public WriteBehindBuffer(final InsertDao<DBO> dao, final int capacity, final int batchSize, final long flushInterval, final TimeUnit unit) {
+        if (capacity <= 0 || batchSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException("The capacity, batch size, and flush interval must be positive");
+        }
+        if (batchSize > capacity) {
+            throw new IllegalArgumentException("The batch size cannot be larger than the capacity");
+        }
+        this.dao = dao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "upvote-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flushQueued = new AtomicBoolean();
+        this.flushLock = new Object();
+        this.closeLock = new ReentrantReadWriteLock();
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, unit);
+    }
+
+    /**
+     * Submits a database object to be inserted with the next batch. If the
+     * buffer is full, the calling thread blocks until space is available.
+     *
+     * @param dbo the database object being inserted
+     * @return a future completed once the object has been inserted
+     * @throws InterruptedException if the thread was interrupted while waiting
+     *                              for space within the buffer
+     * @throws IllegalStateException if the buffer has been closed
+     */
+    public CompletableFuture<Void> submit(final DBO dbo) throws InterruptedException {
+        final Pending<DBO> pending = new Pending<>(dbo);
+        final Lock lock = this.closeLock.readLock();
+        lock.lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("The buffer has been closed");
+            }
+            this.queue.put(pending);
+            if (this.queue.size() >= this.batchSize && this.flushQueued.compareAndSet(false, true)) {
+                this.flusher.execute(() -> {
+                    this.flushQueued.set(false);
+                    this.flush();
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+        return pending.completion;
+    }
+
+    /**
+     * Inserts every object currently within the buffer, blocking until all
+     * batches have been attempted.
+     */
+    public void flush() {
+        synchronized (this.flushLock) {
+            final List<Pending<DBO>> batch = new ArrayList<>(this.batchSize);
+            while (this.queue.drainTo(batch, this.batchSize) > 0) {
+                final List<DBO> dbos = new ArrayList<>(batch.size());
+                for (final Pending<DBO> pending : batch) {
+                    dbos.add(pending.dbo);
+                }
+                try {
+                    this.dao.insertAll(dbos);
+                    for (final Pending<DBO> pending : batch) {
+                        pending.completion.complete(null);
+                    }
+                } catch (final Throwable t) {
+                    for (final Pending<DBO> pending : batch) {
+                        pending.completion.completeExceptionally(t);
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new objects and inserts every object still within the
+     * buffer before returning.
+     */
+    @Override
+    public void close() {
+        final Lock lock = this.closeLock.writeLock();
+        lock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        } finally {
+            lock.unlock();
+        }
+        this.flusher.shutdown();
+        this.flush();
+    }
+
+    /**
+     * A database object waiting to be inserted along with its completion.
+     *
+     * @param <DBO> the type of the database object
+     */
+    private static final class Pending<DBO> {
+
+        private final DBO dbo;
+        private final CompletableFuture<Void> completion;
+
+        /**
+         * A simple constructor.
+         *
+         * @param dbo the database object being inserted
+         */
+        private Pending(final DBO dbo) {
+            this.dbo = dbo;
+            this.completion = new CompletableFuture<>();
+        }
+    }
+}
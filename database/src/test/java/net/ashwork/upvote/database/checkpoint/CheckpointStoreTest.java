@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.checkpoint;
+
+import net.ashwork.upvote.database.domain.dao.ItemGetDao;
+import net.ashwork.upvote.database.log.FsyncPolicy;
+import net.ashwork.upvote.database.log.LogDao;
+import net.ashwork.upvote.database.log.PrimitiveVoteSerializer;
+import net.ashwork.upvote.database.manager.CheckpointedDatabaseVoteManager;
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import net.ashwork.upvote.domain.algorithm.LastVoteWinsTallyAlgorithm;
+import net.ashwork.upvote.util.LongLongHashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CheckpointStore} and restoring a
+ * {@link CheckpointedDatabaseVoteManager} from it.
+ */
+public class CheckpointStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void stateSurvivesARoundTrip() throws IOException {
+        final CheckpointStore store = new CheckpointStore(this.directory);
+        final LongLongHashMap scores = new LongLongHashMap();
+        scores.put(1L, 5L);
+        scores.put(Long.MIN_VALUE, -3L);
+        store.save(10L, scores, StateCodecs.longLongHashMap());
+
+        final Optional<Checkpoint<LongLongHashMap>> checkpoint = store.loadLatest(StateCodecs.longLongHashMap());
+        assertTrue(checkpoint.isPresent());
+        assertEquals(10L, checkpoint.get().getPosition());
+        assertEquals(2, checkpoint.get().getState().size());
+        assertEquals(5L, checkpoint.get().getState().get(1L, 0L));
+        assertEquals(-3L, checkpoint.get().getState().get(Long.MIN_VALUE, 0L));
+    }
+
+    @Test
+    public void corruptCheckpointFallsBackToAnOlderOne() throws IOException {
+        final CheckpointStore store = new CheckpointStore(this.directory);
+        store.save(10L, scores(1L), StateCodecs.longLongHashMap());
+        store.save(20L, scores(2L), StateCodecs.longLongHashMap());
+        try (final RandomAccessFile file = new RandomAccessFile(this.newest().toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(file.read() ^ 0xFF);
+        }
+        final Optional<Checkpoint<LongLongHashMap>> checkpoint = store.loadLatest(StateCodecs.longLongHashMap());
+        assertTrue(checkpoint.isPresent());
+        assertEquals(10L, checkpoint.get().getPosition());
+    }
+
+    @Test
+    public void corruptLengthIsRejectedBeforeAllocating() throws IOException {
+        final CheckpointStore store = new CheckpointStore(this.directory);
+        store.save(10L, scores(1L), StateCodecs.longLongHashMap());
+        try (final RandomAccessFile file = new RandomAccessFile(this.newest().toFile(), "rw")) {
+            file.seek(Integer.BYTES + Long.BYTES);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+        assertFalse(store.loadLatest(StateCodecs.longLongHashMap()).isPresent());
+    }
+
+    @Test
+    public void onlyTheRetainedCheckpointsAreKept() throws IOException {
+        final CheckpointStore store = new CheckpointStore(this.directory, 2);
+        for (long position = 1; position <= 4; position++) {
+            store.save(position, scores(position), StateCodecs.longLongHashMap());
+        }
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(2L, files.count());
+        }
+        assertEquals(4L, store.loadLatest(StateCodecs.longLongHashMap()).get().getPosition());
+    }
+
+    @Test
+    public void managerRestoresFromCheckpointAndReplaysTheRest() throws Throwable {
+        final LastVoteWinsTallyAlgorithm<PrimitiveVoteEntry, Object> algorithm = new LastVoteWinsTallyAlgorithm<>(
+                PrimitiveVoteEntry::getUserAsLong, PrimitiveVoteEntry::getItemAsLong, PrimitiveVoteEntry::getVoteAsInt, PrimitiveVoteEntry::getTimeAsLong,
+                1, LastVoteWinsTallyAlgorithm.State::getScores);
+        final StateCodec<LastVoteWinsTallyAlgorithm.State> codec = StateCodecs.lastVoteWins(algorithm);
+        final CheckpointStore store = new CheckpointStore(this.directory.resolve("checkpoints"));
+        final Path logDirectory = this.directory.resolve("log");
+
+        try (final LogDao<PrimitiveVoteEntry> log = this.log(logDirectory);
+             final CheckpointedDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, LogDao<PrimitiveVoteEntry>, LastVoteWinsTallyAlgorithm.State, Object> manager = this.manager(log, algorithm, store, codec)) {
+            manager.tally();
+            manager.castVote(PrimitiveVoteEntry.of(1L, 10L, 1, 5L));
+            manager.castVote(PrimitiveVoteEntry.of(2L, 10L, 1, 5L));
+        }
+        assertTrue(store.loadLatest(codec).isPresent());
+
+        try (final LogDao<PrimitiveVoteEntry> log = this.log(logDirectory)) {
+            // Written after the checkpoint, so it must be replayed from the log
+            log.insert(PrimitiveVoteEntry.of(1L, 10L, -1, 6L));
+            try (final CheckpointedDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, LogDao<PrimitiveVoteEntry>, LastVoteWinsTallyAlgorithm.State, Object> manager = this.manager(log, algorithm, store, codec)) {
+                final LongLongHashMap scores = (LongLongHashMap) manager.tally();
+                assertEquals(0L, scores.get(10L, 0L));
+                // The restored times still reject an older vote
+                manager.castVote(PrimitiveVoteEntry.of(2L, 10L, -1, 4L));
+                assertEquals(0L, ((LongLongHashMap) manager.tally()).get(10L, 0L));
+            }
+        }
+    }
+
+    private LogDao<PrimitiveVoteEntry> log(final Path directory) throws IOException {
+        return new LogDao<>(directory, new PrimitiveVoteSerializer(), 4096, FsyncPolicy.NEVER, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    private CheckpointedDatabaseVoteManager<Long, Long, Integer, Long, PrimitiveVoteEntry, PrimitiveVoteEntry, LogDao<PrimitiveVoteEntry>, LastVoteWinsTallyAlgorithm.State, Object> manager(
+            final LogDao<PrimitiveVoteEntry> log, final LastVoteWinsTallyAlgorithm<PrimitiveVoteEntry, Object> algorithm,
+            final CheckpointStore store, final StateCodec<LastVoteWinsTallyAlgorithm.State> codec) {
+        return new CheckpointedDatabaseVoteManager<>(log, ItemGetDao.scanning(log, PrimitiveVoteEntry::getItem), Function.identity(),
+                algorithm, id -> id, t -> t, store, codec);
+    }
+
+    private Path newest() throws IOException {
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            return files.max(Path::compareTo).get();
+        }
+    }
+
+    private static LongLongHashMap scores(final long item) {
+        final LongLongHashMap scores = new LongLongHashMap();
+        scores.put(item, item);
+        return scores;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * UpVote
+ * Copyright (c) 2021-2021 Aaron Haim.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.ashwork.upvote.database.log;
+
+import net.ashwork.upvote.domain.PrimitiveVoteEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link LogDao}.
+ */
+public class LogDaoTest {
+
+    private static final int RECORD = 8 + 28;
+    private static final int SEGMENT = RECORD * 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void recordsSurviveReopening() throws Exception {
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insertAll(votes(0, 5));
+        }
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            assertEquals(users(votes(0, 5)), users(log.getAll()));
+            assertEquals(6, log.insert(vote(5)));
+        }
+    }
+
+    @Test
+    public void tornWriteIsDiscardedOnRecovery() throws Exception {
+        final long position;
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT * 4)) {
+            log.insertAll(votes(0, 3));
+            position = log.position();
+        }
+        // A half-written record: a plausible length, a bad checksum, and part of a body
+        try (final RandomAccessFile file = new RandomAccessFile(this.segment(0L).toFile(), "rw")) {
+            file.seek(position);
+            file.writeInt(28);
+            file.writeInt(0xDEADBEEF);
+            file.writeLong(42L);
+        }
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT * 4)) {
+            assertEquals(position, log.position());
+            assertEquals(users(votes(0, 3)), users(log.getAll()));
+            log.insert(vote(3));
+        }
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT * 4)) {
+            assertEquals(users(votes(0, 4)), users(log.getAll()));
+        }
+    }
+
+    @Test
+    public void segmentRollsAtTheExactBoundary() throws Exception {
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insertAll(votes(0, 3));
+            assertEquals(SEGMENT, log.position());
+            assertEquals(1, this.segmentCount());
+            log.insert(vote(3));
+            assertEquals(2, this.segmentCount());
+            assertEquals(SEGMENT + RECORD, log.position());
+            assertEquals(users(votes(0, 4)), users(log.getAll()));
+        }
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            assertEquals(SEGMENT + RECORD, log.position());
+            assertEquals(users(votes(0, 4)), users(log.getAll()));
+        }
+    }
+
+    @Test
+    public void streamFromReadsAcrossSegments() throws Exception {
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insertAll(votes(0, 2));
+            final long position = log.position();
+            log.insertAll(votes(2, 8));
+            assertTrue(this.segmentCount() >= 3);
+            try (final Stream<PrimitiveVoteEntry> votes = log.streamFrom(position)) {
+                assertEquals(users(votes(2, 8)), users(votes.collect(Collectors.toList())));
+            }
+            try (final Stream<PrimitiveVoteEntry> votes = log.streamFrom(log.position())) {
+                assertEquals(0L, votes.count());
+            }
+        }
+    }
+
+    @Test
+    public void streamFromRejectsPositionsOutsideTheLog() throws Exception {
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insert(vote(0));
+            assertThrows(IllegalArgumentException.class, () -> log.streamFrom(-1L));
+            assertThrows(IllegalArgumentException.class, () -> log.streamFrom(log.position() + 1));
+        }
+    }
+
+    @Test
+    public void concurrentInsertsAreCommittedTogether() throws Exception {
+        final int threads = 8, perThread = 200;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(RECORD * 64)) {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        log.insert(vote(thread * perThread + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals((long) threads * perThread * RECORD, log.position());
+        } finally {
+            executor.shutdownNow();
+        }
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(RECORD * 64)) {
+            final List<Long> users = users(log.getAll());
+            users.sort(null);
+            assertEquals(users(votes(0, threads * perThread)), users);
+        }
+    }
+
+    @Test
+    public void mismatchedSegmentSizeIsRejected() throws Exception {
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insert(vote(0));
+        }
+        assertThrows(IllegalArgumentException.class, () -> this.open(SEGMENT * 2));
+    }
+
+    @Test
+    public void unrelatedLogFilesAreIgnored() throws Exception {
+        Files.write(this.directory.resolve("notes.log"), new byte[] {1, 2, 3});
+        try (final LogDao<PrimitiveVoteEntry> log = this.open(SEGMENT)) {
+            log.insert(vote(0));
+            assertEquals(1, log.getAll().size());
+        }
+    }
+
+    private LogDao<PrimitiveVoteEntry> open(final int segmentSize) throws IOException {
+        return new LogDao<>(this.directory, new PrimitiveVoteSerializer(), segmentSize, FsyncPolicy.ALWAYS, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    private Path segment(final long base) {
+        return this.directory.resolve(String.format("%020d.log", base));
+    }
+
+    private long segmentCount() throws IOException {
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("\\d{20}\\.log")).count();
+        }
+    }
+
+    private static PrimitiveVoteEntry vote(final long user) {
+        return PrimitiveVoteEntry.of(user, user % 7, user % 2 == 0 ? 1 : -1, user * 10);
+    }
+
+    private static List<PrimitiveVoteEntry> votes(final int from, final int to) {
+        final List<PrimitiveVoteEntry> votes = new ArrayList<>();
+        for (int user = from; user < to; user++) {
+            votes.add(vote(user));
+        }
+        return votes;
+    }
+
+    private static List<Long> users(final List<PrimitiveVoteEntry> votes) {
+        return votes.stream().map(PrimitiveVoteEntry::getUser).collect(Collectors.toList());
+    }
+}